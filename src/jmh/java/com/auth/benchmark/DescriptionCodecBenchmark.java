@@ -0,0 +1,72 @@
+package com.auth.benchmark;
+
+import com.auth.model.CompressedTextConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of CompressedTextConverter per description: what every insert pays, and what every
+// detail read (or ?fields=description list) pays per row. Setup prints the stored/original size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DescriptionCodecBenchmark {
+
+    private static final String[] WORDS = {
+            "patient", "reports", "mild", "moderate", "severe", "pain", "since", "last", "visit", "blood",
+            "pressure", "elevated", "medication", "dose", "adjusted", "daily", "twice", "follow-up", "in",
+            "weeks", "no", "known", "reaction", "to", "penicillin", "monitor", "symptoms", "and", "the",
+            "with", "lab", "results", "within", "normal", "range", "advised", "rest", "hydration"
+    };
+
+    @Param({"200", "4000", "32000"})
+    public int chars;
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+    private String description;
+    private byte[] stored;
+
+    @Setup
+    public void setUp() {
+        description = clinicalNotes(chars, new Random(42));
+        stored = converter.convertToDatabaseColumn(description);
+        int original = description.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%n%d chars: %d bytes stored for %d bytes of text (%.1f%%)%n",
+                chars, stored.length, original, 100.0 * stored.length / original);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return converter.convertToDatabaseColumn(description);
+    }
+
+    @Benchmark
+    public String decompress() {
+        return converter.convertToEntityAttribute(stored);
+    }
+
+    // Free text drawn from a small clinical vocabulary, which is about as repetitive as real notes
+    static String clinicalNotes(int chars, Random random) {
+        StringBuilder text = new StringBuilder(chars + 16);
+        while (text.length() < chars) {
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.substring(0, chars);
+    }
+}
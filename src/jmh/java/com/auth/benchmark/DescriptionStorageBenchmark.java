@@ -0,0 +1,183 @@
+package com.auth.benchmark;
+
+import com.auth.model.CompressedTextConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Health-record reads against a real MySQL, before (TEXT, description in every list row) and after
+// (deflated BLOB, list without description, description read per record). Setup prints the table's
+// InnoDB footprint. Needs a running server, by default the one in application.yml:
+//   java -Dbenchmark.jdbc.url=jdbc:mysql://host:3306/db -jar target/benchmarks.jar DescriptionStorage
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DescriptionStorageBenchmark {
+
+    private static final int MEMBERS = 200;
+    private static final int RECORDS_PER_MEMBER = 20;
+
+    @Param({"text", "compressed"})
+    public String storage;
+
+    @Param({"4000"})
+    public int descriptionChars;
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+    private Connection connection;
+    private String table;
+    private PreparedStatement listWithDescription;
+    private PreparedStatement listWithoutDescription;
+    private PreparedStatement detail;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url",
+                        "jdbc:mysql://localhost:3306/evernorth?createDatabaseIfNotExist=true"
+                                + "&rewriteBatchedStatements=true"),
+                System.getProperty("benchmark.jdbc.username", "root"),
+                System.getProperty("benchmark.jdbc.password", "root"));
+        table = "bench_health_records_" + storage;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " ("
+                    + "member_id VARCHAR(255) NOT NULL, record_no INTEGER NOT NULL, "
+                    + "health_condition VARCHAR(100) NOT NULL, description " + (compressed() ? "BLOB" : "TEXT") + ", "
+                    + "PRIMARY KEY (member_id, record_no)) ENGINE = InnoDB");
+        }
+        insertRows();
+        printFootprint();
+
+        listWithDescription = connection.prepareStatement("SELECT record_no, health_condition, description FROM "
+                + table + " WHERE member_id = ? ORDER BY record_no");
+        listWithoutDescription = connection.prepareStatement("SELECT record_no, health_condition FROM "
+                + table + " WHERE member_id = ? ORDER BY record_no");
+        detail = connection.prepareStatement("SELECT record_no, health_condition, description FROM "
+                + table + " WHERE member_id = ? AND record_no = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.close();
+    }
+
+    // What the list endpoint did before: every row carries its description
+    @Benchmark
+    public void listWithDescription(Blackhole blackhole) throws SQLException {
+        listWithDescription.setString(1, nextMember());
+        try (ResultSet rows = listWithDescription.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getInt(1));
+                blackhole.consume(rows.getString(2));
+                blackhole.consume(description(rows, 3));
+            }
+        }
+    }
+
+    // What the list endpoint does now without ?fields=description
+    @Benchmark
+    public void listWithoutDescription(Blackhole blackhole) throws SQLException {
+        listWithoutDescription.setString(1, nextMember());
+        try (ResultSet rows = listWithoutDescription.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getInt(1));
+                blackhole.consume(rows.getString(2));
+            }
+        }
+    }
+
+    // GET /health-records/{recordNo}
+    @Benchmark
+    public String detail() throws SQLException {
+        detail.setString(1, nextMember());
+        detail.setInt(2, 1 + next % RECORDS_PER_MEMBER);
+        try (ResultSet rows = detail.executeQuery()) {
+            return rows.next() ? description(rows, 3) : null;
+        }
+    }
+
+    private void insertRows() throws SQLException {
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+                + " (member_id, record_no, health_condition, description) VALUES (?, ?, ?, ?)")) {
+            for (int member = 0; member < MEMBERS; member++) {
+                for (int recordNo = 1; recordNo <= RECORDS_PER_MEMBER; recordNo++) {
+                    String description = DescriptionCodecBenchmark.clinicalNotes(descriptionChars, random);
+                    insert.setString(1, memberId(member));
+                    insert.setInt(2, recordNo);
+                    insert.setString(3, "Condition " + recordNo);
+                    if (compressed()) {
+                        insert.setBytes(4, converter.convertToDatabaseColumn(description));
+                    } else {
+                        insert.setString(4, description);
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void printFootprint() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet size = statement.executeQuery("SELECT data_length FROM information_schema.TABLES "
+                    + "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                if (size.next()) {
+                    System.out.printf("%n%s: %d rows, %d KiB data%n",
+                            storage, MEMBERS * RECORDS_PER_MEMBER, size.getLong(1) / 1024);
+                }
+            }
+        }
+    }
+
+    private String description(ResultSet rows, int column) throws SQLException {
+        return compressed() ? converter.convertToEntityAttribute(rows.getBytes(column)) : rows.getString(column);
+    }
+
+    private String nextMember() {
+        next = (next + 1) % (MEMBERS * RECORDS_PER_MEMBER);
+        return memberId(next % MEMBERS);
+    }
+
+    private boolean compressed() {
+        return "compressed".equals(storage);
+    }
+
+    private static String memberId(int member) {
+        return String.format("B%04d", member);
+    }
+}
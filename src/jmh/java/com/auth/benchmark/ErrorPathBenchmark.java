@@ -0,0 +1,92 @@
+package com.auth.benchmark;
+
+import com.auth.exception.ApiError;
+import com.auth.exception.GlobalExceptionHandler;
+import com.auth.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+// A service call made from callDepth frames down (roughly the filter chain, dispatcher and proxies
+// of a real request) that either returns, throws a shared stackless business exception, or throws a
+// conventional exception that captures the whole stack. Both error paths end in GlobalExceptionHandler.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"100"})
+    public int callDepth;
+
+    private GlobalExceptionHandler handler;
+    private HttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = Stubs.stub(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login/send-otp");
+    }
+
+    @Benchmark
+    public ResponseEntity<?> success() {
+        return ResponseEntity.ok(descend(callDepth, Outcome.RETURN));
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> businessException() {
+        try {
+            descend(callDepth, Outcome.BUSINESS_EXCEPTION);
+            throw new AssertionError();
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFoundException(e, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> stackTraceException() {
+        try {
+            descend(callDepth, Outcome.STACK_TRACE_EXCEPTION);
+            throw new AssertionError();
+        } catch (StackTraceNotFoundException e) {
+            return handler.handleAllUncaughtException(e, request);
+        }
+    }
+
+    private enum Outcome { RETURN, BUSINESS_EXCEPTION, STACK_TRACE_EXCEPTION }
+
+    // How ResourceNotFoundException behaved before it became stackless
+    private static final class StackTraceNotFoundException extends RuntimeException {
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    private static String descend(int depth, Outcome outcome) {
+        if (depth > 0) {
+            return descend(depth - 1, outcome);
+        }
+        return switch (outcome) {
+            case RETURN -> "M9001";
+            case BUSINESS_EXCEPTION -> throw ResourceNotFoundException.MEMBER_NOT_FOUND;
+            case STACK_TRACE_EXCEPTION -> throw new StackTraceNotFoundException("Member not found");
+        };
+    }
+}
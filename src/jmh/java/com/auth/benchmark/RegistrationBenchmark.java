@@ -0,0 +1,107 @@
+package com.auth.benchmark;
+
+import com.auth.audit.AuditLog;
+import com.auth.dto.RegisterRequest;
+import com.auth.repository.EmailVerificationRepository;
+import com.auth.repository.MemberIdSequenceStore;
+import com.auth.repository.MemberRepository;
+import com.auth.service.AuthenticationService;
+import com.auth.service.EmailService;
+import com.auth.service.MemberIdGenerator;
+import com.auth.service.MemberLookupCache;
+import com.auth.service.PendingRegistrationCache;
+import com.auth.service.TokenBlacklistService;
+import com.auth.session.SessionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// OTP generation plus BCrypt hashing (register), OTP hash checks, and member ID formatting
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final LocalDate DOB = LocalDate.of(1990, 5, 17);
+
+    private AuthenticationService authenticationService;
+    private PasswordEncoder passwordEncoder;
+    private MemberIdGenerator memberIdGenerator;
+    private RegisterRequest registerRequest;
+    private String otpHash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        otpHash = passwordEncoder.encode("123456");
+
+        MemberRepository memberRepository = Stubs.stub(MemberRepository.class);
+        when(memberRepository.findMemberIdByEmail(anyString())).thenReturn(Optional.empty());
+
+        MemberIdSequenceStore memberIdSequenceStore = Stubs.stub(MemberIdSequenceStore.class);
+        when(memberIdSequenceStore.reserve(eq("J90"), eq(1), any())).thenReturn(42);
+
+        memberIdGenerator = new MemberIdGenerator(memberRepository, memberIdSequenceStore);
+        authenticationService = new AuthenticationService(
+                memberRepository,
+                Stubs.stub(EmailVerificationRepository.class),
+                Stubs.jwtService(),
+                Stubs.stub(EmailService.class),
+                passwordEncoder,
+                Stubs.stub(TokenBlacklistService.class),
+                memberIdGenerator,
+                new PendingRegistrationCache(new SimpleMeterRegistry()),
+                new MemberLookupCache(memberRepository, new SimpleMeterRegistry(), 1000, 1000, 30),
+                Stubs.stub(AuditLog.class),
+                Stubs.stub(SessionRegistry.class));
+        registerRequest = RegisterRequest.builder()
+                .fullName("Jane Doe")
+                .email("jane.doe@example.com")
+                .contact("5550100")
+                .dob(DOB)
+                .build();
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> register() {
+        return authenticationService.register(registerRequest);
+    }
+
+    @Benchmark
+    public boolean otpHashMatches() {
+        return passwordEncoder.matches("123456", otpHash);
+    }
+
+    @Benchmark
+    public String formatMemberId() {
+        return memberIdGenerator.formatMemberId(memberIdGenerator.prefixFor("Jane Doe", DOB), 42);
+    }
+
+    @Benchmark
+    public String generateMemberId() {
+        return memberIdGenerator.generateMemberId("Jane Doe", DOB);
+    }
+}
@@ -0,0 +1,224 @@
+package com.auth.benchmark;
+
+import com.auth.dto.AddressResponse;
+import com.auth.dto.AllergyRecordResponse;
+import com.auth.dto.DependentResponse;
+import com.auth.dto.HealthRecordResponse;
+import com.auth.dto.PaymentResponse;
+import com.auth.model.Address;
+import com.auth.model.AllergyRecord;
+import com.auth.model.CardType;
+import com.auth.model.Dependent;
+import com.auth.model.HealthRecord;
+import com.auth.model.Payment;
+import com.auth.model.PaymentType;
+import com.auth.repository.AddressRepository;
+import com.auth.repository.AllergyRecordRepository;
+import com.auth.repository.DependentRepository;
+import com.auth.repository.HealthRecordRepository;
+import com.auth.repository.PaymentRepository;
+import com.auth.repository.SparseFieldRepository;
+import com.auth.security.SecurityUtils;
+import com.auth.service.AddressService;
+import com.auth.service.AllergyRecordService;
+import com.auth.service.DependentService;
+import com.auth.service.HealthRecordService;
+import com.auth.service.PaymentService;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// Drives the services' read paths with stubbed repositories, so each call measures the mapTo*Response
+// mappers (and card masking for payments), or the tuple mapping for health and allergy records
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final String MEMBER_ID = "J9001";
+
+    @Param({"0", "1", "20"})
+    public int rows;
+
+    private PaymentService paymentService;
+    private AddressService addressService;
+    private DependentService dependentService;
+    private HealthRecordService healthRecordService;
+    private AllergyRecordService allergyRecordService;
+
+    @Setup
+    public void setUp() {
+        SecurityUtils securityUtils = Stubs.stub(SecurityUtils.class);
+        when(securityUtils.getCurrentUserId()).thenReturn(MEMBER_ID);
+
+        List<Payment> payments = new ArrayList<>();
+        List<Address> addresses = new ArrayList<>();
+        List<Dependent> dependents = new ArrayList<>();
+        List<Tuple> healthRecords = new ArrayList<>();
+        List<Tuple> allergyRecords = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            payments.add(Payment.builder()
+                    .memberId(MEMBER_ID)
+                    .paymentType(PaymentType.creditcard)
+                    .cardNumber(String.format("4111111111%06d", i))
+                    .nameOnCard("Jane Doe")
+                    .expiryDate(LocalDate.of(2030, 1, 1))
+                    .cardType(CardType.VISA)
+                    .build());
+            addresses.add(Address.builder()
+                    .memberId(MEMBER_ID)
+                    .addressLabel("label-" + i)
+                    .addressLine1("12 Main Street")
+                    .city("Springfield")
+                    .state("IL")
+                    .zipCode("62701")
+                    .build());
+            dependents.add(Dependent.builder()
+                    .memberId(MEMBER_ID)
+                    .fullName("Dependent " + i)
+                    .relation("child")
+                    .dob(LocalDate.of(2015, 1, 1))
+                    .emergencySosContact(false)
+                    .build());
+            healthRecords.add(new RowTuple(Map.of("recordNo", i, "healthCondition", "Condition " + i)));
+            allergyRecords.add(new RowTuple(Map.of("recordNo", i, "allergies", "Allergy " + i)));
+        }
+
+        PaymentRepository paymentRepository = Stubs.stub(PaymentRepository.class);
+        when(paymentRepository.findByMemberId(MEMBER_ID)).thenReturn(payments);
+        AddressRepository addressRepository = Stubs.stub(AddressRepository.class);
+        when(addressRepository.findByMemberId(MEMBER_ID)).thenReturn(addresses);
+        DependentRepository dependentRepository = Stubs.stub(DependentRepository.class);
+        when(dependentRepository.findByMemberId(MEMBER_ID)).thenReturn(dependents);
+        HealthRecordRepository healthRecordRepository = Stubs.stub(HealthRecordRepository.class);
+        AllergyRecordRepository allergyRecordRepository = Stubs.stub(AllergyRecordRepository.class);
+
+        // Health and allergy lists are always column-narrowed projections, without the description
+        SparseFieldRepository sparseFieldRepository = Stubs.stub(SparseFieldRepository.class);
+        when(sparseFieldRepository.findByMemberId(eq(HealthRecord.class), eq(MEMBER_ID), anyMap(), eq("recordNo")))
+                .thenReturn(healthRecords);
+        when(sparseFieldRepository.findByMemberId(eq(AllergyRecord.class), eq(MEMBER_ID), anyMap(), eq("recordNo")))
+                .thenReturn(allergyRecords);
+
+        paymentService = new PaymentService(paymentRepository, securityUtils, sparseFieldRepository);
+        addressService = new AddressService(addressRepository, securityUtils, sparseFieldRepository);
+        dependentService = new DependentService(dependentRepository, securityUtils, sparseFieldRepository);
+        healthRecordService = new HealthRecordService(healthRecordRepository, securityUtils, sparseFieldRepository);
+        allergyRecordService = new AllergyRecordService(allergyRecordRepository, securityUtils, sparseFieldRepository);
+    }
+
+    @Benchmark
+    public List<PaymentResponse> payments() {
+        return paymentService.getCurrentUserPayments(null);
+    }
+
+    @Benchmark
+    public List<AddressResponse> addresses() {
+        return addressService.getCurrentUserAddresses(null);
+    }
+
+    @Benchmark
+    public List<DependentResponse> dependents() {
+        return dependentService.getCurrentUserDependents(null);
+    }
+
+    @Benchmark
+    public List<HealthRecordResponse> healthRecords() {
+        return healthRecordService.getCurrentUserHealthRecords(null);
+    }
+
+    @Benchmark
+    public List<AllergyRecordResponse> allergyRecords() {
+        return allergyRecordService.getCurrentUserAllergyRecords(null);
+    }
+
+    // A result row as Hibernate hands it back for a tuple query, keyed by alias
+    private static final class RowTuple implements Tuple {
+
+        private final List<TupleElement<?>> elements = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        RowTuple(Map<String, ?> row) {
+            row.forEach((alias, value) -> {
+                elements.add(new Element(alias, value.getClass()));
+                values.add(value);
+            });
+        }
+
+        @Override
+        public <X> X get(TupleElement<X> tupleElement) {
+            return tupleElement.getJavaType().cast(get(tupleElement.getAlias()));
+        }
+
+        @Override
+        public <X> X get(String alias, Class<X> type) {
+            return type.cast(get(alias));
+        }
+
+        @Override
+        public Object get(String alias) {
+            for (int i = 0; i < elements.size(); i++) {
+                if (elements.get(i).getAlias().equals(alias)) {
+                    return values.get(i);
+                }
+            }
+            throw new IllegalArgumentException("No element " + alias);
+        }
+
+        @Override
+        public <X> X get(int i, Class<X> type) {
+            return type.cast(values.get(i));
+        }
+
+        @Override
+        public Object get(int i) {
+            return values.get(i);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return values.toArray();
+        }
+
+        @Override
+        public List<TupleElement<?>> getElements() {
+            return elements;
+        }
+    }
+
+    private record Element(String alias, Class<?> type) implements TupleElement<Object> {
+
+        @Override
+        public Class<?> getJavaType() {
+            return type;
+        }
+
+        @Override
+        public String getAlias() {
+            return alias;
+        }
+    }
+}
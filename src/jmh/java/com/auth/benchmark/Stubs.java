@@ -0,0 +1,37 @@
+package com.auth.benchmark;
+
+import com.auth.security.JwtService;
+import org.mockito.Mockito;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+// Collaborators for benchmarks: stub-only mocks never record invocations,
+// so they don't accumulate garbage across millions of iterations
+public final class Stubs {
+
+    public static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private Stubs() {
+    }
+
+    public static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    public static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        setField(jwtService, "secretKey", SECRET_KEY);
+        setField(jwtService, "jwtExpiration", 86400000L);
+        return jwtService;
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + name + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
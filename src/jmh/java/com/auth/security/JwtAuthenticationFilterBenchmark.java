@@ -0,0 +1,101 @@
+package com.auth.security;
+
+import com.auth.audit.AuditLog;
+import com.auth.benchmark.Stubs;
+import com.auth.service.MemberActivityTracker;
+import com.auth.service.TokenBlacklistService;
+import com.auth.session.SessionRegistry;
+import com.auth.session.SessionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+// Lives in com.auth.security to reach the protected doFilterInternal directly
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"valid", "blacklisted", "anonymous"})
+    public String scenario;
+
+    private JwtAuthenticationFilter filter;
+    private AuditLog auditLog;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = Stubs.jwtService();
+        String token = jwtService.generateToken("J9001", "0b6f7c1e-5d1a-4f0e-9c1b-2f4d8a7e6c35");
+
+        UserDetailsService userDetailsService = Stubs.stub(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("J9001")).thenReturn(new User("J9001", "", List.of()));
+
+        TokenBlacklistService tokenBlacklistService = Stubs.stub(TokenBlacklistService.class);
+        when(tokenBlacklistService.isTokenBlacklisted(token)).thenReturn("blacklisted".equals(scenario));
+
+        request = Stubs.stub(HttpServletRequest.class);
+        when(request.getHeader("Authorization")).thenReturn("anonymous".equals(scenario) ? null : "Bearer " + token);
+        response = Stubs.stub(HttpServletResponse.class);
+        filterChain = Stubs.stub(FilterChain.class);
+
+        // Real tracker so the in-memory activity write is part of the measured path; it is never flushed here
+        MemberActivityTracker memberActivityTracker =
+                new MemberActivityTracker(Stubs.stub(JdbcTemplate.class), new SimpleMeterRegistry(), 5000);
+
+        // Real audit log with a discarding writer, so rejected scenarios pay the actual enqueue
+        auditLog = new AuditLog(batch -> {
+        }, new SimpleMeterRegistry(), 65536, 500, 1);
+
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenBlacklistService,
+                memberActivityTracker, auditLog, sessionRegistry(jwtService), new SimpleMeterRegistry());
+    }
+
+    // Real registry over a stub store: the revocation lookup is measured, nothing is ever persisted
+    private static SessionRegistry sessionRegistry(JwtService jwtService) {
+        return new SessionRegistry(Stubs.stub(SessionStore.class), jwtService, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        auditLog.destroy();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws ServletException, IOException {
+        try {
+            filter.doFilterInternal(request, response, filterChain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
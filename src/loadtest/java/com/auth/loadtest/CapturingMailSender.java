@@ -0,0 +1,79 @@
+package com.auth.loadtest;
+
+import jakarta.mail.BodyPart;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// In-process SMTP stand-in: keeps the latest OTP sent to each recipient instead of talking to a mail server.
+// It can be made slow (every send waits latencyMillis) or flaky (a share of sends fail) to put load on the
+// SMTP circuit breaker and mail outbox. Real SMTP conversations, including stalled and dropped connections,
+// are covered by EmailServiceSmtpTest.
+public class CapturingMailSender extends JavaMailSenderImpl {
+
+    private static final Pattern OTP = Pattern.compile("\\b(\\d{6})\\b");
+
+    private final Map<String, String> latestOtp = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private final double failureRate;
+
+    public CapturingMailSender(long latencyMillis, double failureRate) {
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MailSendException("Interrupted while sending", e);
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new MailSendException("Simulated SMTP failure");
+        }
+        for (MimeMessage message : mimeMessages) {
+            try {
+                Matcher matcher = OTP.matcher(textOf(message));
+                if (matcher.find()) {
+                    latestOtp.put(message.getAllRecipients()[0].toString(), matcher.group(1));
+                }
+            } catch (MessagingException | IOException e) {
+                throw new MailSendException("Could not capture message", e);
+            }
+        }
+    }
+
+    public String takeOtp(String email) {
+        return latestOtp.remove(email);
+    }
+
+    private String textOf(Part part) throws MessagingException, IOException {
+        Object content = part.getContent();
+        if (content instanceof String text) {
+            return text;
+        }
+        if (content instanceof Multipart multipart) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                BodyPart bodyPart = multipart.getBodyPart(i);
+                text.append(textOf(bodyPart));
+            }
+            return text.toString();
+        }
+        return "";
+    }
+}
@@ -0,0 +1,38 @@
+package com.auth.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.sql.Driver;
+import java.util.List;
+
+// Stands in for a MySQL replica with a second, separate H2 database. Replication is emulated with read-only
+// linked tables onto the primary's tables, so reads routed here see committed rows as a caught-up replica
+// would. replica_status holds the delay ReplicaLagMonitor reads; raising it makes reads fall back to the primary.
+public class EmulatedReplica {
+
+    private final JdbcTemplate replica;
+
+    public EmulatedReplica(String primaryUrl, String primaryUsername, String primaryPassword,
+                           String replicaUrl, String replicaUsername, String replicaPassword) {
+        Driver driver = new org.h2.Driver();
+        JdbcTemplate primary =
+                new JdbcTemplate(new SimpleDriverDataSource(driver, primaryUrl, primaryUsername, primaryPassword));
+        this.replica =
+                new JdbcTemplate(new SimpleDriverDataSource(driver, replicaUrl, replicaUsername, replicaPassword));
+
+        List<String> tables = primary.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'public' AND table_type = 'BASE TABLE'", String.class);
+        for (String table : tables) {
+            replica.execute("CREATE LINKED TABLE IF NOT EXISTS " + table + "('org.h2.Driver', '" + primaryUrl
+                    + "', '" + primaryUsername + "', '" + primaryPassword + "', '" + table + "') READONLY");
+        }
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds BIGINT)");
+        replica.update("DELETE FROM replica_status");
+        replica.update("INSERT INTO replica_status (lag_seconds) VALUES (0)");
+    }
+
+    public void setLagSeconds(long lagSeconds) {
+        replica.update("UPDATE replica_status SET lag_seconds = ?", lagSeconds);
+    }
+}
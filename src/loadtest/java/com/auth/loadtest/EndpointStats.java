@@ -0,0 +1,65 @@
+package com.auth.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success, int sqlStatements) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latencies.add(latencyNanos);
+        stats.statements.add(sqlStatements);
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    public void clear() {
+        endpoints.clear();
+    }
+
+    public String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-40s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "sql/req"));
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            List<Long> sorted;
+            synchronized (stats.latencies) {
+                sorted = new ArrayList<>(stats.latencies);
+            }
+            if (sorted.isEmpty()) {
+                return;
+            }
+            Collections.sort(sorted);
+            out.append(String.format("%-40s %8d %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name,
+                    sorted.size(),
+                    stats.errors.sum(),
+                    sorted.size() / elapsedSeconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted.get(sorted.size() - 1) / 1_000_000.0,
+                    (double) stats.statements.sum() / sorted.size()));
+        });
+        return out.toString();
+    }
+
+    private double percentile(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+    }
+}
@@ -0,0 +1,38 @@
+package com.auth.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public CapturingMailSender capturingMailSender(
+            @Value("${loadtest.mail.latency-ms:0}") long latencyMillis,
+            @Value("${loadtest.mail.failure-rate:0}") double failureRate
+    ) {
+        return new CapturingMailSender(latencyMillis, failureRate);
+    }
+
+    // Built once the primary is migrated, so its tables can be linked into the replica database
+    @Bean
+    @Profile("replica")
+    @DependsOn("flywayInitializer")
+    public EmulatedReplica emulatedReplica(
+            @Value("${spring.datasource.url}") String primaryUrl,
+            @Value("${spring.datasource.username}") String primaryUsername,
+            @Value("${spring.datasource.password:}") String primaryPassword,
+            @Value("${application.datasource.replica.url}") String replicaUrl,
+            @Value("${application.datasource.replica.username}") String replicaUsername,
+            @Value("${application.datasource.replica.password:}") String replicaPassword
+    ) {
+        return new EmulatedReplica(primaryUrl, primaryUsername, primaryPassword,
+                replicaUrl, replicaUsername, replicaPassword);
+    }
+}
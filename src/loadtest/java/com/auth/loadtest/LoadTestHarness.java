@@ -0,0 +1,226 @@
+package com.auth.loadtest;
+
+import com.auth.OtpAuthApplication;
+import com.auth.monitoring.SqlBudgetMonitor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Starts the service on H2 with an in-process mail sink and drives the full member journey:
+// register -> verify-email -> send-otp -> verify-otp -> dashboard reads/writes -> logout.
+// The run fails if any endpoint exceeded its SQL statement budget (application.sql.budgets).
+// Options: --users=N --iterations=N --warmup=N --virtual-threads=true|false|both --profiles=replica,...
+//          (both starts the service once per mode, each on fresh databases, and prints the reports side by side)
+//          --mail-latency-ms=N --mail-failure-rate=0..1 (slow or failing SMTP, to exercise the circuit breaker)
+//          --replica-lag-seconds=N (with --profiles=replica; above max-lag-seconds reads fall back to the primary)
+//   mvn -Ploadtest compile exec:java -Dexec.args="--users=50 --iterations=20"
+public class LoadTestHarness {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final CapturingMailSender mailSender;
+    private final EndpointStats stats;
+
+    private LoadTestHarness(String baseUrl, CapturingMailSender mailSender, EndpointStats stats) {
+        this.baseUrl = baseUrl;
+        this.mailSender = mailSender;
+        this.stats = stats;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "20"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2"));
+        String virtualThreads = options.getOrDefault("virtual-threads", "false");
+
+        if (!"both".equals(virtualThreads)) {
+            System.out.println(run(options, Boolean.parseBoolean(virtualThreads), users, iterations, warmup));
+            return;
+        }
+        String platformReport = run(options, false, users, iterations, warmup);
+        String virtualReport = run(options, true, users, iterations, warmup);
+        System.out.println("\n========== Platform threads ==========");
+        System.out.println(platformReport);
+        System.out.println("\n========== Virtual threads ==========");
+        System.out.println(virtualReport);
+    }
+
+    // Starts the service in one execution mode, drives the load and returns the report
+    private static String run(Map<String, String> options, boolean virtualThreads, int users, int iterations,
+                              int warmup) throws Exception {
+        String[] profiles = ("loadtest," + options.getOrDefault("profiles", "")).split(",");
+        String mailLatency = options.getOrDefault("mail-latency-ms", "0");
+        String mailFailureRate = options.getOrDefault("mail-failure-rate", "0");
+        long replicaLagSeconds = Long.parseLong(options.getOrDefault("replica-lag-seconds", "0"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OtpAuthApplication.class)
+                .profiles(profiles)
+                .properties("spring.threads.virtual.enabled=" + virtualThreads,
+                        "loadtest.database=evernorth_" + (virtualThreads ? "virtual" : "platform"),
+                        "loadtest.mail.latency-ms=" + mailLatency,
+                        "loadtest.mail.failure-rate=" + mailFailureRate)
+                .run();
+        try {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            EndpointStats stats = new EndpointStats();
+            LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port,
+                    context.getBean(CapturingMailSender.class), stats);
+            context.getBeanProvider(EmulatedReplica.class)
+                    .ifAvailable(replica -> replica.setLagSeconds(replicaLagSeconds));
+
+            harness.run(users, warmup);
+            stats.clear();
+
+            long start = System.nanoTime();
+            harness.run(users, iterations);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("%n%d users x %d journeys in %.1fs (virtual threads: %s)%n%n",
+                    users, iterations, elapsedSeconds, virtualThreads));
+            report.append(stats.report(elapsedSeconds)).append(System.lineSeparator());
+            appendMailResilience(report, context.getBean(MeterRegistry.class));
+            appendReplica(report, context.getBean(MeterRegistry.class));
+            // Fails the run if any endpoint issued more statements than application.sql.budgets allows
+            try {
+                context.getBean(SqlBudgetMonitor.class).verify();
+            } catch (RuntimeException e) {
+                System.out.println(report);
+                throw e;
+            }
+            return report.toString();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(int users, int iterations) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        journey();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private void journey() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = "member" + SEQUENCE.incrementAndGet() + "@load.test";
+        String fullName = (char) ('A' + random.nextInt(26)) + "oad Tester";
+        String dob = String.format("%d-%02d-%02d", 1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28));
+
+        if (!call("POST", "/api/v1/auth/register", null, Map.of(
+                "fullName", fullName, "email", email, "contact", "5550100", "dob", dob)).ok()) {
+            return;
+        }
+        if (!call("POST", "/api/v1/auth/verify-email", null,
+                Map.of("email", email, "otp", String.valueOf(mailSender.takeOtp(email)))).ok()) {
+            return;
+        }
+        if (!call("POST", "/api/v1/auth/login/send-otp", null, Map.of("email", email)).ok()) {
+            return;
+        }
+        Result login = call("POST", "/api/v1/auth/login/verify-otp", null,
+                Map.of("email", email, "otp", String.valueOf(mailSender.takeOtp(email))));
+        if (!login.ok()) {
+            return;
+        }
+        String token = objectMapper.readTree(login.body()).path("token").asText();
+
+        call("GET", "/api/v1/users/profile", token, null);
+        call("GET", "/api/v1/users/health-records", token, null);
+        call("POST", "/api/v1/users/health-records", token, Map.of(
+                "healthCondition", "Hypertension", "description", "Monitored monthly"));
+        // Mobile list view: sparse fieldset, then the compressed description of the record just added
+        call("GET", "/api/v1/users/health-records?fields=recordNo,healthCondition", token, null);
+        call("GET", "/api/v1/users/health-records/1", token, null);
+        call("GET", "/api/v1/users/payments", token, null);
+        call("GET", "/api/v1/users/addresses", token, null);
+        call("GET", "/api/v1/users/sessions", token, null);
+        call("POST", "/api/v1/auth/logout", token, null);
+    }
+
+    private Result call(String method, String path, String token, Map<String, ?> body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        long latency = System.nanoTime() - start;
+
+        int status = response.statusCode();
+        boolean ok = status / 100 == 2;
+        // Statement counts come from the service's own SQL tracking (application.sql.response-headers)
+        int statements = response.headers().firstValue("X-Sql-Statements").map(Integer::parseInt).orElse(0);
+        stats.record(method + " " + path, latency, ok, statements);
+        return new Result(ok, response.body());
+    }
+
+    private static void appendMailResilience(StringBuilder report, MeterRegistry meterRegistry) {
+        report.append(String.format("SMTP circuit breaker and outbox:%n"));
+        for (String name : List.of("circuit.breaker.calls", "circuit.breaker.transitions", "mail.outbox")) {
+            for (Counter counter : meterRegistry.find(name).counters()) {
+                report.append(String.format("  %-28s %-60s %8.0f%n", name, counter.getId().getTags(), counter.count()));
+            }
+        }
+    }
+
+    private static void appendReplica(StringBuilder report, MeterRegistry meterRegistry) {
+        Gauge usable = meterRegistry.find("db.replica.usable").gauge();
+        if (usable != null) {
+            report.append(String.format("%nReplica usable for reads: %s (lag %.0fs)%n", usable.value() == 1,
+                    meterRegistry.get("db.replica.lag").gauge().value()));
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Result(boolean ok, String body) {
+    }
+}
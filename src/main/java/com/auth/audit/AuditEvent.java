@@ -0,0 +1,6 @@
+package com.auth.audit;
+
+// subject is whatever identifies the caller at that point: the email for OTP calls, the member ID once a
+// token has been parsed, or null for a token that could not be read
+public record AuditEvent(long timestampMillis, AuditEventType type, String subject, String detail) {
+}
@@ -0,0 +1,10 @@
+package com.auth.audit;
+
+public enum AuditEventType {
+    OTP_SENT,
+    OTP_SEND_FAILED,
+    OTP_VERIFIED,
+    OTP_VERIFY_FAILED,
+    LOGOUT,
+    TOKEN_REJECTED
+}
@@ -0,0 +1,95 @@
+package com.auth.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Entry point for audit events. record() only allocates the event and claims a ring slot; a single
+// background thread drains the ring in batches into the configured AuditWriter. When the writer falls
+// so far behind that the ring is full, events are dropped and counted rather than slowing requests.
+@Slf4j
+@Component
+public class AuditLog implements DisposableBean {
+
+    // Width of audit_events.subject and .detail; one oversized value would otherwise fail its whole batch
+    static final int MAX_FIELD_LENGTH = 255;
+
+    private final AuditRingBuffer ring;
+    private final AuditWriter writer;
+    private final int batchSize;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter written;
+    private final Timer batchTimer;
+    private final List<AuditEvent> batch;
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("audit-writer").daemon().factory());
+
+    public AuditLog(
+            AuditWriter writer,
+            MeterRegistry meterRegistry,
+            @Value("${application.audit.buffer-size}") int bufferSize,
+            @Value("${application.audit.batch-size}") int batchSize,
+            @Value("${application.audit.flush-interval-ms}") long flushIntervalMillis
+    ) {
+        this.ring = new AuditRingBuffer(bufferSize);
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.dropped = meterRegistry.counter("audit.events", "outcome", "dropped");
+        this.failed = meterRegistry.counter("audit.events", "outcome", "failed");
+        this.written = meterRegistry.counter("audit.events", "outcome", "written");
+        this.batchTimer = meterRegistry.timer("audit.batch");
+        drainer.scheduleWithFixedDelay(this::drain, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(AuditEventType type, String subject, String detail) {
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), type, truncate(subject), truncate(detail));
+        if (!ring.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_FIELD_LENGTH ? value : value.substring(0, MAX_FIELD_LENGTH);
+    }
+
+    // Runs on the drainer thread, or on the shutdown thread once the drainer has stopped
+    private void drain() {
+        while (ring.drainTo(batch, batchSize) > 0) {
+            long start = System.nanoTime();
+            try {
+                writer.write(batch);
+                written.increment(batch.size());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Dropped {} audit events: {}", batch.size(), e.getMessage());
+                failed.increment(batch.size());
+            } finally {
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        drainer.shutdown();
+        if (!drainer.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Audit writer did not stop in time; events still in the buffer are lost");
+            return;
+        }
+        drain();
+        writer.close();
+    }
+}
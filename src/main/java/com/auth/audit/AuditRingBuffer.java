@@ -0,0 +1,67 @@
+package com.auth.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer, single-consumer ring. Producers claim a position with one CAS on the tail and
+// publish through the slot's sequence number, so offer() never blocks or takes a lock; a full ring
+// refuses the event instead of making the request wait for the writer.
+class AuditRingBuffer {
+
+    private final int mask;
+    private final AuditEvent[] slots;
+    // sequence == position: free for the producer claiming it; == position + 1: published for the consumer
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // only touched by the single consumer
+
+    AuditRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer size must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AuditEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(AuditEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false;
+            } else {
+                // Another producer claimed this position first
+                position = tail.get();
+            }
+        }
+    }
+
+    int drainTo(List<AuditEvent> batch, int maxEvents) {
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            batch.add(slots[index]);
+            slots[index] = null;
+            sequences.set(index, head + slots.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,13 @@
+package com.auth.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+// Called from the single audit thread only, so implementations need no synchronization of their own
+public interface AuditWriter {
+
+    void write(List<AuditEvent> batch) throws IOException;
+
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,28 @@
+package com.auth.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+// Appends each batch to audit_events as one JDBC batch (a single multi-row INSERT on MySQL)
+@RequiredArgsConstructor
+public class JdbcAuditWriter implements AuditWriter {
+
+    private static final String INSERT =
+            "INSERT INTO audit_events (occurred_at, event_type, subject, detail) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            rows.add(new Object[]{
+                    new Timestamp(event.timestampMillis()), event.type().name(), event.subject(), event.detail()});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+}
@@ -0,0 +1,96 @@
+package com.auth.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Local append-only journal of tab-separated lines, one per event. Each segment is a fixed-size
+// memory-mapped file, so an append is a copy into the page cache that survives a process crash.
+// A segment that cannot take the next line is forced to disk, trimmed to what was written and replaced
+// by a new one; only the newest maxSegments files are kept.
+@Slf4j
+public class JournalAuditWriter implements AuditWriter {
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxSegments;
+
+    private int segmentSequence;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    public JournalAuditWriter(Path directory, long segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        openSegment();
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        for (AuditEvent event : batch) {
+            byte[] line = format(event).getBytes(StandardCharsets.UTF_8);
+            if (line.length > segmentSize) {
+                log.warn("Skipping {} audit event larger than a journal segment", event.type());
+                continue;
+            }
+            if (line.length > buffer.remaining()) {
+                closeSegment();
+                pruneSegments();
+                openSegment();
+            }
+            buffer.put(line);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    private void openSegment() throws IOException {
+        // Millisecond timestamp plus sequence keeps names unique and in write order when sorted
+        String name = String.format("audit-%013d-%04d.log", System.currentTimeMillis(), segmentSequence++ % 10_000);
+        channel = FileChannel.open(directory.resolve(name),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private void closeSegment() throws IOException {
+        buffer.force();
+        channel.truncate(buffer.position());
+        channel.close();
+    }
+
+    private void pruneSegments() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(file -> file.getFileName().toString().matches("audit-\\d{13}-\\d{4}\\.log"))
+                    .sorted()
+                    .toList();
+        }
+        // One slot is left for the segment about to be opened
+        for (int i = 0; i < segments.size() - (maxSegments - 1); i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private static String format(AuditEvent event) {
+        return Instant.ofEpochMilli(event.timestampMillis()) + "\t" + event.type() + "\t"
+                + clean(event.subject()) + "\t" + clean(event.detail()) + "\n";
+    }
+
+    private static String clean(String value) {
+        return value == null ? "-" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,158 @@
+package com.auth.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Count-based breaker around a remote dependency. Closed: calls flow and their outcomes fill a sliding
+// window; once minimumCalls are in it and the share of failed or slow calls reaches the threshold, it opens.
+// Open: calls are refused without touching the dependency until openDuration has passed. Half-open: a few
+// probe calls go through; all of them succeeding closes the breaker, any failure reopens it.
+// Each permission is tagged with the state period it was granted in, so a call that started before a
+// transition (e.g. a slow send admitted while closed that finishes during half-open) is not mistaken for
+// a probe or counted against the new window.
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public record Permit(long period) {
+    }
+
+    private final String name;
+    private final MeterRegistry meterRegistry;
+    private final boolean[] window; // true = failed or slow
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private long period;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAt;
+    private int probesRemaining;
+    private int probesSucceeded;
+
+    public CircuitBreaker(String name, MeterRegistry meterRegistry, int windowSize, int minimumCalls,
+                          double failureRateThreshold, long slowCallMillis, long openMillis, int halfOpenProbes) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallMillis * 1_000_000;
+        this.openNanos = openMillis * 1_000_000;
+        this.halfOpenProbes = halfOpenProbes;
+
+        for (State candidate : State.values()) {
+            Gauge.builder("circuit.breaker.state", this, breaker -> breaker.getState() == candidate ? 1 : 0)
+                    .tag("name", name)
+                    .tag("state", candidate.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    // Null when the call must not go ahead; otherwise pass the permit back with the call's outcome
+    public synchronized Permit tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                countCall("rejected");
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+            probesRemaining = halfOpenProbes;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesRemaining == 0) {
+                countCall("rejected");
+                return null;
+            }
+            probesRemaining--;
+        }
+        return new Permit(period);
+    }
+
+    // Hands back a permission whose call never reached the dependency, e.g. because the executor was full
+    public synchronized void releasePermission(Permit permit) {
+        if (state == State.HALF_OPEN && permit.period() == period) {
+            probesRemaining++;
+        }
+    }
+
+    public synchronized void onSuccess(Permit permit, long durationNanos) {
+        boolean slow = durationNanos > slowCallNanos;
+        countCall(slow ? "slow" : "success");
+        if (permit.period() == period) {
+            record(slow);
+        }
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        countCall("failure");
+        if (permit.period() == period) {
+            record(true);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failed) {
+                    open();
+                } else if (++probesSucceeded == halfOpenProbes) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (windowCount == window.length) {
+                    if (window[windowIndex]) {
+                        windowFailures--;
+                    }
+                } else {
+                    windowCount++;
+                }
+                window[windowIndex] = failed;
+                if (failed) {
+                    windowFailures++;
+                }
+                windowIndex = (windowIndex + 1) % window.length;
+                if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // Unreachable: permits are only granted while closed or half-open, and opening starts a new period
+            }
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transitionTo(State.OPEN);
+    }
+
+    private void close() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        transitionTo(State.CLOSED);
+    }
+
+    private void transitionTo(State next) {
+        meterRegistry.counter("circuit.breaker.transitions", "name", name,
+                "from", state.name().toLowerCase(), "to", next.name().toLowerCase()).increment();
+        state = next;
+        period++;
+    }
+
+    private void countCall(String outcome) {
+        meterRegistry.counter("circuit.breaker.calls", "name", name, "outcome", outcome).increment();
+    }
+}
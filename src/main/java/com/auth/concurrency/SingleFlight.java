@@ -0,0 +1,18 @@
+package com.auth.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// On a read: concurrent calls for the same member and resource share one in-flight load and its result.
+// On a write (invalidates = true): once the write has committed, later reads start a fresh load
+// instead of joining one that began before the write.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    String value();
+
+    boolean invalidates() default false;
+}
@@ -0,0 +1,86 @@
+package com.auth.concurrency;
+
+import com.auth.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+// Runs outside the transaction interceptor: the leader's transaction has committed before followers
+// get its result, and followers never open a transaction of their own. Callers that are already in a
+// transaction bypass coalescing so they keep seeing their own uncommitted writes.
+// Followers receive the same result instance, which callers must treat as read-only.
+// Ordered just after Spring's ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1), which has to run first
+// for the annotation argument to be bound.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+
+    private final SecurityUtils securityUtils;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private record FlightKey(String memberId, String resource, List<Object> args) {
+    }
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String memberId = securityUtils.getCurrentUserId();
+        if (singleFlight.invalidates()) {
+            Object result = joinPoint.proceed();
+            inFlight.keySet().removeIf(key ->
+                    key.memberId().equals(memberId) && key.resource().equals(singleFlight.value()));
+            return result;
+        }
+
+        FlightKey key = new FlightKey(memberId, singleFlight.value(), Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            meterRegistry.counter("singleflight.calls", "resource", singleFlight.value(), "role", "follower")
+                    .increment();
+            return await(existing);
+        }
+
+        meterRegistry.counter("singleflight.calls", "resource", singleFlight.value(), "role", "leader").increment();
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.auth.concurrency;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+// Bulkhead for virtual-thread mode: each task gets its own virtual thread, and a semaphore caps how many
+// run at once. There is no queue; a task arriving while every permit is taken is rejected, which the
+// web layer turns into a 503 just like a full platform pool.
+public class VirtualThreadBulkhead implements TaskExecutor, AutoCloseable {
+
+    private final String name;
+    private final int limit;
+    private final Semaphore permits;
+    private final TaskDecorator taskDecorator;
+    private final Runnable onRejected;
+    private final ExecutorService executor;
+
+    public VirtualThreadBulkhead(String name, int limit, TaskDecorator taskDecorator, Runnable onRejected) {
+        this.name = name;
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+        this.taskDecorator = taskDecorator;
+        this.onRejected = onRejected;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-bulkhead-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            onRejected.run();
+            throw new TaskRejectedException("Bulkhead " + name + " is full");
+        }
+        Runnable decorated = taskDecorator.decorate(task);
+        try {
+            executor.execute(() -> {
+                try {
+                    decorated.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw new TaskRejectedException("Bulkhead " + name + " is shut down", e);
+        }
+    }
+
+    public int getInFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.auth.config;
+
+import com.auth.audit.AuditWriter;
+import com.auth.audit.JdbcAuditWriter;
+import com.auth.audit.JournalAuditWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "application.audit.sink", havingValue = "table", matchIfMissing = true)
+    public AuditWriter jdbcAuditWriter(JdbcTemplate jdbcTemplate) {
+        return new JdbcAuditWriter(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.audit.sink", havingValue = "journal")
+    public AuditWriter journalAuditWriter(
+            @Value("${application.audit.journal.directory}") String directory,
+            @Value("${application.audit.journal.segment-size-mb}") int segmentSizeMb,
+            @Value("${application.audit.journal.max-segments}") int maxSegments
+    ) throws IOException {
+        return new JournalAuditWriter(Path.of(directory), segmentSizeMb * 1024L * 1024L, maxSegments);
+    }
+}
@@ -0,0 +1,28 @@
+package com.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BulkImportConfig {
+
+    @Value("${application.import.concurrent-jobs}")
+    private int concurrentJobs;
+
+    @Value("${application.import.queued-jobs}")
+    private int queuedJobs;
+
+    @Bean
+    public ThreadPoolTaskExecutor bulkImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrentJobs);
+        executor.setMaxPoolSize(concurrentJobs);
+        executor.setQueueCapacity(queuedJobs);
+        executor.setThreadNamePrefix("bulk-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
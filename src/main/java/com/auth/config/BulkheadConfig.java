@@ -0,0 +1,90 @@
+package com.auth.config;
+
+import com.auth.concurrency.VirtualThreadBulkhead;
+import com.auth.monitoring.RequestContextTaskDecorator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+// Separate fixed pools so a slow dependency only exhausts its own threads: auth requests (OTP storms),
+// member-data reads and writes, and outbound email. A full queue is rejected with a 503 rather than
+// parking more servlet threads.
+// With spring.threads.virtual.enabled the pools would cap handler, JPA and BCrypt work at a few platform
+// threads, so each bulkhead instead runs its tasks on virtual threads, admitting threads + queue-capacity
+// at once (the same number a pool accepts) and rejecting the rest with the same 503.
+@Configuration
+@RequiredArgsConstructor
+public class BulkheadConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public TaskExecutor authBulkhead(
+            @Value("${application.bulkhead.auth.threads}") int threads,
+            @Value("${application.bulkhead.auth.queue-capacity}") int queueCapacity
+    ) {
+        return bulkhead("auth", threads, queueCapacity);
+    }
+
+    @Bean
+    public TaskExecutor memberDataBulkhead(
+            @Value("${application.bulkhead.member-data.threads}") int threads,
+            @Value("${application.bulkhead.member-data.queue-capacity}") int queueCapacity
+    ) {
+        return bulkhead("member-data", threads, queueCapacity);
+    }
+
+    @Bean
+    public TaskExecutor emailBulkhead(
+            @Value("${application.bulkhead.email.threads}") int threads,
+            @Value("${application.bulkhead.email.queue-capacity}") int queueCapacity
+    ) {
+        return bulkhead("email", threads, queueCapacity);
+    }
+
+    private TaskExecutor bulkhead(String name, int threads, int queueCapacity) {
+        if (virtualThreads) {
+            VirtualThreadBulkhead bulkhead = new VirtualThreadBulkhead(name, threads + queueCapacity,
+                    new RequestContextTaskDecorator(), () -> rejected(name));
+            Gauge.builder("bulkhead.saturation", bulkhead, b -> (double) b.getInFlight() / b.getLimit())
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            return bulkhead;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(name + "-bulkhead-");
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected(name);
+            throw new RejectedExecutionException("Bulkhead " + name + " is full");
+        });
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name + "-bulkhead", Tags.of("bulkhead", name))
+                .bindTo(meterRegistry);
+        Gauge.builder("bulkhead.saturation", executor, pool ->
+                        (double) (pool.getActiveCount() + pool.getQueueSize()) / (threads + queueCapacity))
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private void rejected(String name) {
+        meterRegistry.counter("bulkhead.rejected", "bulkhead", name).increment();
+    }
+}
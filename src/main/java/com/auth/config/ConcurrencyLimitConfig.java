@@ -0,0 +1,39 @@
+package com.auth.config;
+
+import com.auth.filter.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${application.concurrency.smoothing}")
+    private double smoothing;
+
+    @Value("${application.concurrency.tolerance}")
+    private double tolerance;
+
+    @Value("${application.concurrency.window-size}")
+    private int windowSize;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter authConcurrencyLimiter(
+            @Value("${application.concurrency.auth.initial-limit}") int initialLimit,
+            @Value("${application.concurrency.auth.min-limit}") int minLimit,
+            @Value("${application.concurrency.auth.max-limit}") int maxLimit
+    ) {
+        return new AdaptiveConcurrencyLimiter("auth", initialLimit, minLimit, maxLimit, smoothing, tolerance,
+                windowSize);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter memberDataConcurrencyLimiter(
+            @Value("${application.concurrency.member-data.initial-limit}") int initialLimit,
+            @Value("${application.concurrency.member-data.min-limit}") int minLimit,
+            @Value("${application.concurrency.member-data.max-limit}") int maxLimit
+    ) {
+        return new AdaptiveConcurrencyLimiter("member-data", initialLimit, minLimit, maxLimit, smoothing, tolerance,
+                windowSize);
+    }
+}
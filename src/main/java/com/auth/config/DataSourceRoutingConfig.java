@@ -0,0 +1,85 @@
+package com.auth.config;
+
+import com.auth.datasource.ReadWriteRoutingDataSource;
+import com.auth.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+// Per-shard replicas are not supported; sharding takes precedence over the single replica
+@ConditionalOnExpression("${application.datasource.replica.enabled:false} and !${application.sharding.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${application.datasource.replica.url}") String url,
+            @Value("${application.datasource.replica.username}") String username,
+            @Value("${application.datasource.replica.password}") String password,
+            @Value("${application.datasource.replica.maximum-pool-size}") int maximumPoolSize
+    ) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            @Value("${application.datasource.replica.lag-query}") String lagQuery,
+            @Value("${application.datasource.replica.lag-column}") String lagColumn,
+            @Value("${application.datasource.replica.max-lag-seconds}") long maxLagSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, lagColumn, maxLagSeconds);
+        Gauge.builder("db.replica.lag", monitor, ReplicaLagMonitor::getLastLagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            @Value("${application.datasource.replica.max-lag-seconds}") long maxLagSeconds,
+            @Value("${application.datasource.replica.lag-check-interval-ms}") long lagCheckIntervalMillis
+    ) {
+        // A replica in use is at most max-lag behind as of the last check, so a write is visible there after that
+        Duration readYourWritesWindow = Duration.ofSeconds(maxLagSeconds).plusMillis(lagCheckIntervalMillis);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesWindow);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
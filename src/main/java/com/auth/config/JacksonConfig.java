@@ -0,0 +1,19 @@
+package com.auth.config;
+
+import com.auth.dto.SparseFieldset;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Responses carrying the sparse-fieldset filter serialize every property unless a request narrows them
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(SparseFieldset.JSON_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.auth.config;
+
+import com.auth.concurrency.CircuitBreaker;
+import com.auth.service.MailOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MailResilienceConfig {
+
+    @Bean
+    public CircuitBreaker smtpCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${application.mail.circuit-breaker.window-size}") int windowSize,
+            @Value("${application.mail.circuit-breaker.minimum-calls}") int minimumCalls,
+            @Value("${application.mail.circuit-breaker.failure-rate-threshold}") double failureRateThreshold,
+            @Value("${application.mail.circuit-breaker.slow-call-ms}") long slowCallMillis,
+            @Value("${application.mail.circuit-breaker.open-ms}") long openMillis,
+            @Value("${application.mail.circuit-breaker.half-open-probes}") int halfOpenProbes
+    ) {
+        return new CircuitBreaker("smtp", meterRegistry, windowSize, minimumCalls, failureRateThreshold,
+                slowCallMillis, openMillis, halfOpenProbes);
+    }
+
+    @Bean
+    public MailOutbox mailOutbox(
+            MeterRegistry meterRegistry,
+            @Value("${application.mail.outbox.capacity}") int capacity
+    ) {
+        return new MailOutbox(capacity, meterRegistry);
+    }
+}
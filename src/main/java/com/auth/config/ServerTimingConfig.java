@@ -0,0 +1,21 @@
+package com.auth.config;
+
+import com.auth.monitoring.ServerTimingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter(
+            @Value("${application.server-timing.enabled}") boolean enabled,
+            @Value("${application.server-timing.trusted-networks}") List<String> trustedNetworks
+    ) {
+        return new ServerTimingFilter(enabled, trustedNetworks.stream().map(IpAddressMatcher::new).toList());
+    }
+}
@@ -0,0 +1,90 @@
+package com.auth.config;
+
+import com.auth.datasource.ConsistentHashRing;
+import com.auth.datasource.ShardDataSources;
+import com.auth.datasource.ShardRebalancer;
+import com.auth.datasource.ShardRoutingAspect;
+import com.auth.datasource.ShardRoutingDataSource;
+import com.auth.datasource.ShardingProperties;
+import com.auth.security.SecurityUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Member-owned tables live on the shard picked by the hash ring; members, email verifications
+// and blacklisted tokens stay on the global database configured under spring.datasource
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "application.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public HikariDataSource globalDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("global");
+        return dataSource;
+    }
+
+    // Boot's Flyway only sees the global database, so each shard is migrated here before it is used
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties shardingProperties, DataSourceProperties properties) {
+        ShardDataSources shardDataSources =
+                new ShardDataSources(shardingProperties, properties.determineDriverClassName());
+        shardDataSources.asMap().values().forEach(dataSource -> Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/shard")
+                .load()
+                .migrate());
+        return shardDataSources;
+    }
+
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties properties) {
+        return new ConsistentHashRing(
+                properties.getShards().stream().map(ShardingProperties.Shard::getName).toList(),
+                properties.getVirtualNodes());
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ConsistentHashRing shardRing, SecurityUtils securityUtils) {
+        return new ShardRoutingAspect(shardRing, securityUtils);
+    }
+
+    // Takes the rebalancer so a configured startup rebalance has finished before anything is routed
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("globalDataSource") HikariDataSource globalDataSource,
+            ShardDataSources shardDataSources,
+            ShardRebalancer shardRebalancer
+    ) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(globalDataSource, shardDataSources.asMap());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Runs during context startup, before the web server and schedulers start, so no request is routed
+    // with the new shard list while rows are still moving
+    @Bean
+    public ShardRebalancer shardRebalancer(
+            ConsistentHashRing shardRing,
+            ShardDataSources shardDataSources,
+            ShardingProperties properties
+    ) {
+        ShardRebalancer rebalancer = new ShardRebalancer(shardRing, shardDataSources.asMap(),
+                properties.getRebalanceBatchSize());
+        if (properties.getRebalanceOnStartup() != ShardingProperties.RebalanceMode.NONE) {
+            rebalancer.rebalance(properties.getRebalanceOnStartup() == ShardingProperties.RebalanceMode.DRY_RUN);
+        }
+        return rebalancer;
+    }
+}
@@ -0,0 +1,55 @@
+package com.auth.config;
+
+import com.auth.monitoring.HandlerPhaseInterceptor;
+import com.auth.monitoring.SqlBudgetMonitor;
+import com.auth.monitoring.SqlBudgetProperties;
+import com.auth.monitoring.SqlStatisticsFilter;
+import com.auth.monitoring.SqlStatisticsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlTrackingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                // Only the application-facing "dataSource" bean, not the pools a routing data source delegates to
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatisticsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry meterRegistry) {
+        return new SqlStatisticsFilter(meterRegistry);
+    }
+
+    @Bean
+    public SqlBudgetMonitor sqlBudgetMonitor(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        return new SqlBudgetMonitor(properties, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerPhaseInterceptor());
+    }
+}
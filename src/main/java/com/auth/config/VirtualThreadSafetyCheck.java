@@ -0,0 +1,70 @@
+package com.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// With a virtual thread per request, the security context strategy decides whether one caller's
+// authentication can reach another thread. The strategy actually installed (system property, or set in
+// code by a library) is probed the way a request uses it, rather than trusting its configured name.
+// The application's own request state (SqlStatistics, ServerTiming, ShardContext) lives in plain
+// ThreadLocals that the filters and aspects clear in finally; RequestContextVirtualThreadTest covers them,
+// and VirtualThreadTransactionTest covers the transaction state @Transactional binds to a virtual thread.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadSafetyCheck {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() throws InterruptedException {
+        SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+        String problem = probe(strategy);
+        if (problem != null) {
+            throw new IllegalStateException("Virtual threads require a thread-local security context strategy, but "
+                    + strategy.getClass().getSimpleName() + " " + problem);
+        }
+        log.info("Virtual-thread execution mode enabled");
+    }
+
+    // Binds a sentinel on a virtual thread, as a request would, and reports what the strategy did with it;
+    // null when the context stayed with that thread and was gone after clearContext
+    static String probe(SecurityContextHolderStrategy strategy) throws InterruptedException {
+        AtomicReference<String> problem = new AtomicReference<>();
+        Thread request = Thread.ofVirtual().start(() -> {
+            SecurityContext sentinel = strategy.createEmptyContext();
+            sentinel.setAuthentication(new TestingAuthenticationToken("virtual-thread-probe", null));
+            strategy.setContext(sentinel);
+            try {
+                // A global strategy hands it to every thread, an inheritable one to threads the request starts
+                if (seenByNewThread(strategy, sentinel)) {
+                    problem.set("shares the context with other threads");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                problem.set("could not be probed");
+            } finally {
+                strategy.clearContext();
+            }
+            if (problem.get() == null && strategy.getContext().getAuthentication() != null) {
+                problem.set("keeps the context after clearContext");
+            }
+        });
+        request.join();
+        return problem.get();
+    }
+
+    private static boolean seenByNewThread(SecurityContextHolderStrategy strategy, SecurityContext sentinel)
+            throws InterruptedException {
+        AtomicReference<SecurityContext> seen = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> seen.set(strategy.getContext())).join();
+        return seen.get().getAuthentication() == sentinel.getAuthentication();
+    }
+}
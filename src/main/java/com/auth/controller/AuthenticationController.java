@@ -1,8 +1,10 @@
 package com.auth.controller;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,11 +15,17 @@ import com.auth.dto.AuthenticationResponse;
 import com.auth.dto.LoginRequest;
 import com.auth.dto.RegisterRequest;
 import com.auth.service.AuthenticationService;
+import com.auth.session.SessionRegistry;
 
-import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+// Each endpoint runs on the auth bulkhead, so an OTP storm against a slow SMTP server
+// cannot take the servlet threads member-data requests need
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -25,35 +33,53 @@ import lombok.RequiredArgsConstructor;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    @Qualifier("authBulkhead")
+    private final Executor authBulkhead;
 
     @PostMapping("/register")
-    public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request) throws MessagingException {
-        authenticationService.register(request);
-        return ResponseEntity.ok("Registration initiated. Please verify your email with the OTP sent.");
+    public CompletableFuture<ResponseEntity<String>> register(@Valid @RequestBody RegisterRequest request) {
+        return CompletableFuture.supplyAsync(() -> authenticationService.register(request), authBulkhead)
+                .thenCompose(Function.identity())
+                .thenApply(sent ->
+                        ResponseEntity.ok("Registration initiated. Please verify your email with the OTP sent."));
     }
 
     @PostMapping("/verify-email")
-    public ResponseEntity<String> verifyEmail(@Valid @RequestBody AuthenticationRequest request) {
-        authenticationService.verifyEmail(request);
-        return ResponseEntity.ok("Email verified successfully. You can now login.");
+    public CompletableFuture<ResponseEntity<String>> verifyEmail(@Valid @RequestBody AuthenticationRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            authenticationService.verifyEmail(request);
+            return ResponseEntity.ok("Email verified successfully. You can now login.");
+        }, authBulkhead);
     }
    
     @PostMapping("/login/send-otp")
-    public ResponseEntity<String> sendOtp(@Valid @RequestBody LoginRequest request) throws MessagingException {
-    authenticationService.sendOtp(request);
-    return ResponseEntity.ok("OTP sent successfully");
+    public CompletableFuture<ResponseEntity<String>> sendOtp(@Valid @RequestBody LoginRequest request) {
+        return CompletableFuture.supplyAsync(() -> authenticationService.sendOtp(request), authBulkhead)
+                .thenCompose(Function.identity())
+                .thenApply(sent -> ResponseEntity.ok("OTP sent successfully"));
     }
 
     
 
     @PostMapping("/login/verify-otp")
-    public ResponseEntity<AuthenticationResponse> verifyOtp(@Valid @RequestBody AuthenticationRequest request) {
-        return ResponseEntity.ok(authenticationService.verifyOtp(request));
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> verifyOtp(
+            @Valid @RequestBody AuthenticationRequest request,
+            @RequestHeader(value = "User-Agent", required = false) String userAgent
+    ) {
+        // Shown to the member when listing sessions; clipped to the column size
+        String device = userAgent == null ? null : userAgent.substring(0, Math.min(userAgent.length(), 255));
+        return CompletableFuture.supplyAsync(
+                () -> ResponseEntity.ok(authenticationService.verifyOtp(request, device)), authBulkhead);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(@RequestHeader("Authorization") String token) {
-        authenticationService.logout(token.substring(7));
-        return ResponseEntity.ok("Logged out successfully");
+    public CompletableFuture<ResponseEntity<String>> logout(
+            @RequestHeader("Authorization") String token,
+            @RequestAttribute(name = SessionRegistry.SESSION_ID_ATTRIBUTE, required = false) String sessionId
+    ) {
+        return CompletableFuture.supplyAsync(() -> {
+            authenticationService.logout(token.substring(7), sessionId);
+            return ResponseEntity.ok("Logged out successfully");
+        }, authBulkhead);
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.auth.controller;
+
+import com.auth.dto.BulkImportStatusResponse;
+import com.auth.service.BulkMemberImportService;
+import com.auth.service.MemberImportParser;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+// Operator endpoints, restricted to the admin role in SecurityConfig
+@RestController
+@RequestMapping("/api/v1/members/import")
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private final BulkMemberImportService bulkMemberImportService;
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<BulkImportStatusResponse> importCsv(HttpServletRequest request) throws IOException {
+        return submit(request, MemberImportParser.Format.CSV);
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<BulkImportStatusResponse> importNdjson(HttpServletRequest request) throws IOException {
+        return submit(request, MemberImportParser.Format.NDJSON);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkImportStatusResponse> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(bulkMemberImportService.getStatus(jobId));
+    }
+
+    private ResponseEntity<BulkImportStatusResponse> submit(HttpServletRequest request, MemberImportParser.Format format)
+            throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(bulkMemberImportService.submit(request.getInputStream(), format));
+    }
+}
@@ -3,12 +3,17 @@ package com.auth.controller;
 import com.auth.dto.PaymentResponse;
 import com.auth.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/v1/payments")
@@ -16,9 +21,14 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    @Qualifier("memberDataBulkhead")
+    private final Executor memberDataBulkhead;
 
     @GetMapping
-    public ResponseEntity<List<PaymentResponse>> getCurrentUserPayments() {
-        return ResponseEntity.ok(paymentService.getCurrentUserPayments());
+    public CompletableFuture<ResponseEntity<List<PaymentResponse>>> getCurrentUserPayments(
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return CompletableFuture.supplyAsync(
+                () -> ResponseEntity.ok(paymentService.getCurrentUserPayments(fields)), memberDataBulkhead);
     }
 }
\ No newline at end of file
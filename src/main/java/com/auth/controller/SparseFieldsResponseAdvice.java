@@ -0,0 +1,42 @@
+package com.auth.controller;
+
+import com.auth.dto.SparseFieldset;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+// Narrows the JSON of sparse-fieldset responses to the properties named in ?fields=. The service has
+// already validated the names and left the others unread; this keeps them out of the payload instead
+// of serializing them as nulls. Bodies without the filter annotation, such as ApiError, are unaffected.
+@RestControllerAdvice
+public class SparseFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(@NonNull MappingJacksonValue bodyContainer,
+                                           @NonNull MediaType contentType,
+                                           @NonNull MethodParameter returnType,
+                                           @NonNull ServerHttpRequest request,
+                                           @NonNull ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter("fields");
+        if (!StringUtils.hasText(fields)) {
+            return;
+        }
+        Set<String> names = StringUtils.commaDelimitedListToSet(fields.replace(" ", ""));
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(SparseFieldset.JSON_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+    }
+}
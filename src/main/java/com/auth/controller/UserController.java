@@ -2,13 +2,22 @@ package com.auth.controller;
 
 import com.auth.dto.*;
 import com.auth.service.*;
+import com.auth.session.SessionRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
+// Runs on the member-data bulkhead, isolated from auth traffic.
+// List endpoints take ?fields=a,b to read and return only those properties.
+// Record descriptions are left out of lists by default and served by the per-record endpoints.
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
@@ -20,59 +29,111 @@ public class UserController {
     private final DependentService dependentService;
     private final HealthRecordService healthRecordService;
     private final AllergyRecordService allergyRecordService;
+    private final SessionService sessionService;
+    @Qualifier("memberDataBulkhead")
+    private final Executor memberDataBulkhead;
 
     @GetMapping("/profile")
-    public ResponseEntity<UserProfileResponse> getCurrentUserProfile() {
-        return ResponseEntity.ok(userService.getCurrentUserProfile());
+    public CompletableFuture<ResponseEntity<UserProfileResponse>> getCurrentUserProfile() {
+        return onBulkhead(userService::getCurrentUserProfile);
     }
 
     @GetMapping("/payments")
-    public ResponseEntity<List<PaymentResponse>> getCurrentUserPayments() {
-        return ResponseEntity.ok(paymentService.getCurrentUserPayments());
+    public CompletableFuture<ResponseEntity<List<PaymentResponse>>> getCurrentUserPayments(
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return onBulkhead(() -> paymentService.getCurrentUserPayments(fields));
     }
 
     @PostMapping("/payments")
-    public ResponseEntity<PaymentResponse> addPayment(@Valid @RequestBody PaymentRequest request) {
-        return ResponseEntity.ok(paymentService.addPayment(request));
+    public CompletableFuture<ResponseEntity<PaymentResponse>> addPayment(@Valid @RequestBody PaymentRequest request) {
+        return onBulkhead(() -> paymentService.addPayment(request));
     }
 
     @GetMapping("/addresses")
-    public ResponseEntity<List<AddressResponse>> getCurrentUserAddresses() {
-        return ResponseEntity.ok(addressService.getCurrentUserAddresses());
+    public CompletableFuture<ResponseEntity<List<AddressResponse>>> getCurrentUserAddresses(
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return onBulkhead(() -> addressService.getCurrentUserAddresses(fields));
     }
 
     @PostMapping("/addresses")
-    public ResponseEntity<AddressResponse> addAddress(@Valid @RequestBody AddressRequest request) {
-        return ResponseEntity.ok(addressService.addAddress(request));
+    public CompletableFuture<ResponseEntity<AddressResponse>> addAddress(@Valid @RequestBody AddressRequest request) {
+        return onBulkhead(() -> addressService.addAddress(request));
     }
 
     @GetMapping("/dependents")
-    public ResponseEntity<List<DependentResponse>> getCurrentUserDependents() {
-        return ResponseEntity.ok(dependentService.getCurrentUserDependents());
+    public CompletableFuture<ResponseEntity<List<DependentResponse>>> getCurrentUserDependents(
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return onBulkhead(() -> dependentService.getCurrentUserDependents(fields));
     }
 
     @PostMapping("/dependents")
-    public ResponseEntity<DependentResponse> addDependent(@Valid @RequestBody DependentRequest request) {
-        return ResponseEntity.ok(dependentService.addDependent(request));
+    public CompletableFuture<ResponseEntity<DependentResponse>> addDependent(
+            @Valid @RequestBody DependentRequest request
+    ) {
+        return onBulkhead(() -> dependentService.addDependent(request));
     }
 
     @GetMapping("/health-records")
-    public ResponseEntity<List<HealthRecordResponse>> getCurrentUserHealthRecords() {
-        return ResponseEntity.ok(healthRecordService.getCurrentUserHealthRecords());
+    public CompletableFuture<ResponseEntity<List<HealthRecordResponse>>> getCurrentUserHealthRecords(
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return onBulkhead(() -> healthRecordService.getCurrentUserHealthRecords(fields));
+    }
+
+    @GetMapping("/health-records/{recordNo}")
+    public CompletableFuture<ResponseEntity<HealthRecordResponse>> getCurrentHealthRecord(
+            @PathVariable Integer recordNo
+    ) {
+        return onBulkhead(() -> healthRecordService.getHealthRecord(recordNo));
     }
 
     @PostMapping("/health-records")
-    public ResponseEntity<HealthRecordResponse> addHealthRecord(@Valid @RequestBody HealthRecordRequest request) {
-        return ResponseEntity.ok(healthRecordService.addHealthRecord(request));
+    public CompletableFuture<ResponseEntity<HealthRecordResponse>> addHealthRecord(
+            @Valid @RequestBody HealthRecordRequest request
+    ) {
+        return onBulkhead(() -> healthRecordService.addHealthRecord(request));
     }
 
     @GetMapping("/allergy-records")
-    public ResponseEntity<List<AllergyRecordResponse>> getCurrentUserAllergyRecords() {
-        return ResponseEntity.ok(allergyRecordService.getCurrentUserAllergyRecords());
+    public CompletableFuture<ResponseEntity<List<AllergyRecordResponse>>> getCurrentUserAllergyRecords(
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return onBulkhead(() -> allergyRecordService.getCurrentUserAllergyRecords(fields));
+    }
+
+    @GetMapping("/allergy-records/{recordNo}")
+    public CompletableFuture<ResponseEntity<AllergyRecordResponse>> getCurrentAllergyRecord(
+            @PathVariable Integer recordNo
+    ) {
+        return onBulkhead(() -> allergyRecordService.getAllergyRecord(recordNo));
     }
 
     @PostMapping("/allergy-records")
-    public ResponseEntity<AllergyRecordResponse> addAllergyRecord(@Valid @RequestBody AllergyRecordRequest request) {
-        return ResponseEntity.ok(allergyRecordService.addAllergyRecord(request));
+    public CompletableFuture<ResponseEntity<AllergyRecordResponse>> addAllergyRecord(
+            @Valid @RequestBody AllergyRecordRequest request
+    ) {
+        return onBulkhead(() -> allergyRecordService.addAllergyRecord(request));
+    }
+
+    @GetMapping("/sessions")
+    public CompletableFuture<ResponseEntity<List<SessionResponse>>> getCurrentUserSessions(
+            @RequestAttribute(name = SessionRegistry.SESSION_ID_ATTRIBUTE, required = false) String currentSessionId
+    ) {
+        return onBulkhead(() -> sessionService.getCurrentUserSessions(currentSessionId));
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    public CompletableFuture<ResponseEntity<Void>> revokeSession(@PathVariable String sessionId) {
+        return CompletableFuture.supplyAsync(() -> {
+            sessionService.revokeSession(sessionId);
+            return ResponseEntity.noContent().<Void>build();
+        }, memberDataBulkhead);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> onBulkhead(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(call.get()), memberDataBulkhead);
     }
-}
\ No newline at end of file
+}
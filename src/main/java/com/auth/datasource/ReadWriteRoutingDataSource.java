@@ -0,0 +1,50 @@
+package com.auth.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Sends @Transactional(readOnly = true) work to the replica while it is healthy, everything else to the primary.
+// A member who has just written reads from the primary until the replica is sure to have caught up, so
+// a list fetched right after an add includes the new row. Must sit behind a LazyConnectionDataSourceProxy
+// so the read-only flag is known when the connection is fetched.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      Duration readYourWritesWindow) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        setTargetDataSources(Map.<Object, Object>of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String member = currentMember();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            boolean wroteRecently = member != null && recentWriters.getIfPresent(member) != null;
+            return lagMonitor.isReplicaUsable() && !wroteRecently ? Route.REPLICA : Route.PRIMARY;
+        }
+        if (member != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            recentWriters.put(member, Boolean.TRUE);
+        }
+        return Route.PRIMARY;
+    }
+
+    private static String currentMember() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.auth.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Polls the replica's replication delay; reads fall back to the primary while it is too far behind or unreachable
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaUsable = true;
+    private volatile long lastLagSeconds;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn, long maxLagSeconds) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replica.lag-check-interval-ms}")
+    public void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (resultSet.next()) {
+                long lag = resultSet.getLong(lagColumn);
+                // A NULL delay means replication is stopped
+                usable = !resultSet.wasNull() && lag <= maxLagSeconds;
+                lastLagSeconds = resultSet.wasNull() ? -1 : lag;
+            } else {
+                usable = false;
+                lastLagSeconds = -1;
+            }
+        } catch (SQLException e) {
+            usable = false;
+            lastLagSeconds = -1;
+        }
+
+        if (usable != replicaUsable) {
+            log.warn("Replica {} for reads (lag: {}s)", usable ? "restored" : "bypassed", lastLagSeconds);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+}
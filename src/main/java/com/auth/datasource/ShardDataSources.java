@@ -0,0 +1,35 @@
+package com.auth.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Owns the per-shard pools so they are closed with the application context
+public class ShardDataSources implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+
+    public ShardDataSources(ShardingProperties properties, String driverClassName) {
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setDriverClassName(driverClassName);
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSources.put(shard.getName(), dataSource);
+        }
+    }
+
+    public Map<String, HikariDataSource> asMap() {
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
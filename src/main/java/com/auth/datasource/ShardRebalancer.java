@@ -0,0 +1,99 @@
+package com.auth.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Moves member-owned rows to the shard the ring now assigns them to, e.g. after adding a shard.
+// Must run while no traffic is routed with either shard list: ShardingConfig runs it before the
+// routing data source exists, and every other node has to be stopped. Members move in batches; each
+// batch is upserted into the target and committed before it is deleted from the source, so target rows
+// are never dropped and an interrupted run can simply be repeated.
+@Slf4j
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    static final List<String> MEMBER_TABLES =
+            List.of("payment", "address", "dependents", "health_records", "allergy_records");
+
+    private final ConsistentHashRing ring;
+    private final Map<String, ? extends DataSource> shards;
+    private final int batchSize;
+
+    public int rebalance(boolean dryRun) {
+        int moved = 0;
+        for (Map.Entry<String, ? extends DataSource> source : shards.entrySet()) {
+            Map<String, List<String>> membersByOwner = new LinkedHashMap<>();
+            for (String memberId : memberIdsOn(new JdbcTemplate(source.getValue()))) {
+                String owner = ring.shardFor(memberId);
+                if (!owner.equals(source.getKey())) {
+                    membersByOwner.computeIfAbsent(owner, shard -> new ArrayList<>()).add(memberId);
+                }
+            }
+            for (Map.Entry<String, List<String>> target : membersByOwner.entrySet()) {
+                List<String> memberIds = target.getValue();
+                log.info("{} {} members from shard {} to {}", dryRun ? "Would move" : "Moving",
+                        memberIds.size(), source.getKey(), target.getKey());
+                if (!dryRun) {
+                    for (int from = 0; from < memberIds.size(); from += batchSize) {
+                        List<String> batch = memberIds.subList(from, Math.min(from + batchSize, memberIds.size()));
+                        moveMembers(batch, source.getValue(), shards.get(target.getKey()));
+                    }
+                }
+                moved += memberIds.size();
+            }
+        }
+        log.info("Rebalance {}: {} members {}", dryRun ? "dry run" : "finished", moved, dryRun ? "to move" : "moved");
+        return moved;
+    }
+
+    private List<String> memberIdsOn(JdbcTemplate jdbc) {
+        String union = MEMBER_TABLES.stream()
+                .map(table -> "SELECT member_id FROM " + table)
+                .collect(Collectors.joining(" UNION "));
+        return jdbc.queryForList(union, String.class);
+    }
+
+    private void moveMembers(List<String> memberIds, DataSource source, DataSource target) {
+        NamedParameterJdbcTemplate sourceJdbc = new NamedParameterJdbcTemplate(source);
+        NamedParameterJdbcTemplate targetJdbc = new NamedParameterJdbcTemplate(target);
+        MapSqlParameterSource members = new MapSqlParameterSource("memberIds", memberIds);
+
+        new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status -> {
+            for (String table : MEMBER_TABLES) {
+                List<Map<String, Object>> rows = sourceJdbc.queryForList(
+                        "SELECT * FROM " + table + " WHERE member_id IN (:memberIds)", members);
+                if (!rows.isEmpty()) {
+                    targetJdbc.getJdbcTemplate().batchUpdate(upsert(table, rows.get(0).keySet()),
+                            rows.stream().map(row -> row.values().toArray()).toList());
+                }
+            }
+        });
+        new TransactionTemplate(new DataSourceTransactionManager(source)).executeWithoutResult(status -> {
+            for (String table : MEMBER_TABLES) {
+                sourceJdbc.update("DELETE FROM " + table + " WHERE member_id IN (:memberIds)", members);
+            }
+        });
+    }
+
+    // A row already on the target (copied by an interrupted run) is overwritten with the source's version
+    private static String upsert(String table, Iterable<String> columns) {
+        List<String> names = new ArrayList<>();
+        columns.forEach(names::add);
+        return "INSERT INTO " + table + " (" + String.join(", ", names) + ") VALUES ("
+                + names.stream().map(column -> "?").collect(Collectors.joining(", "))
+                + ") ON DUPLICATE KEY UPDATE "
+                + names.stream().map(column -> column + " = VALUES(" + column + ")").collect(Collectors.joining(", "));
+    }
+}
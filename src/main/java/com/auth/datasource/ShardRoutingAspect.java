@@ -0,0 +1,33 @@
+package com.auth.datasource;
+
+import com.auth.security.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+// Runs outside the transaction interceptor so the shard is chosen before the first statement
+// and stays bound until the transaction has committed
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+
+    private final ConsistentHashRing ring;
+    private final SecurityUtils securityUtils;
+
+    @Around("@within(com.auth.datasource.ShardedByMember)")
+    public Object routeToMemberShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        ShardContext.set(ring.shardFor(securityUtils.getCurrentUserId()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.clear();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.auth.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// Must sit behind a LazyConnectionDataSourceProxy so the shard is known when the connection is fetched
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(DataSource global, Map<String, ? extends DataSource> shards) {
+        setTargetDataSources(new HashMap<Object, Object>(shards));
+        setDefaultTargetDataSource(global);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
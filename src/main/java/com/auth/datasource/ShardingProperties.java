@@ -0,0 +1,36 @@
+package com.auth.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "application.sharding")
+public class ShardingProperties {
+
+    public enum RebalanceMode { NONE, DRY_RUN, APPLY }
+
+    private boolean enabled = false;
+
+    private int virtualNodes = 128;
+
+    private int maximumPoolSize = 10;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // Run once at startup after changing the shard list, with every other node stopped
+    private RebalanceMode rebalanceOnStartup = RebalanceMode.NONE;
+
+    // Members copied and deleted per transaction pair
+    private int rebalanceBatchSize = 500;
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -1,11 +1,13 @@
 package com.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
+@JsonFilter(SparseFieldset.JSON_FILTER)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
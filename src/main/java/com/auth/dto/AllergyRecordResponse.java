@@ -1,16 +1,21 @@
 package com.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
+@JsonFilter(SparseFieldset.JSON_FILTER)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class AllergyRecordResponse {
     private Integer recordNo;
     private String allergies;
+    // Only present on the detail endpoint or when named in ?fields=
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
 }
\ No newline at end of file
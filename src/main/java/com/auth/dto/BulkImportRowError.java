@@ -0,0 +1,16 @@
+package com.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportRowError {
+    private int rowNumber;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportStatusResponse {
+    private String jobId;
+    private String status;
+    private int totalRows;
+    private int processedRows;
+    private int importedRows;
+    private int failedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private List<BulkImportRowError> errors;
+}
@@ -1,5 +1,6 @@
 package com.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Data
+@JsonFilter(SparseFieldset.JSON_FILTER)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
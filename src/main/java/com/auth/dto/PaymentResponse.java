@@ -2,6 +2,7 @@ package com.auth.dto;
 
 import com.auth.model.CardType;
 import com.auth.model.PaymentType;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Data
+@JsonFilter(SparseFieldset.JSON_FILTER)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,20 @@
+package com.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionResponse {
+    private String sessionId;
+    private String device;
+    private LocalDateTime issuedAt;
+    private LocalDateTime expiresAt;
+    private boolean current;
+}
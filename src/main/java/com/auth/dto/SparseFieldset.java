@@ -0,0 +1,79 @@
+package com.auth.dto;
+
+import com.auth.exception.InvalidFieldsException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// The response properties a client may name in ?fields=, each with the entity attribute it is read from.
+// The selected attributes become the only columns in the query, aliased by property name so each
+// result tuple maps straight back onto the response. Lazy properties are left out unless named explicitly.
+public final class SparseFieldset<R> {
+
+    // @JsonFilter id on responses that support sparse fieldsets; see SparseFieldsResponseAdvice
+    public static final String JSON_FILTER = "sparseFieldset";
+
+    private final Supplier<R> factory;
+    private final Map<String, Property<R>> properties = new LinkedHashMap<>();
+
+    public SparseFieldset(Supplier<R> factory) {
+        this.factory = factory;
+    }
+
+    public SparseFieldset<R> property(String name, String attribute, BiConsumer<R, Object> setter) {
+        properties.put(name, new Property<>(attribute, setter, false));
+        return this;
+    }
+
+    public SparseFieldset<R> lazyProperty(String name, String attribute, BiConsumer<R, Object> setter) {
+        properties.put(name, new Property<>(attribute, setter, true));
+        return this;
+    }
+
+    public static boolean isRequested(Set<String> fields) {
+        return fields != null && !fields.isEmpty();
+    }
+
+    // Entity attribute per requested property, in declaration order; unknown names are a client error.
+    // Without ?fields= every property except the lazy ones is selected.
+    public Map<String, String> attributes(Set<String> fields) {
+        if (!isRequested(fields)) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            properties.forEach((name, property) -> {
+                if (!property.lazy()) {
+                    attributes.put(name, property.attribute());
+                }
+            });
+            return attributes;
+        }
+        Set<String> unknown = new TreeSet<>(fields);
+        unknown.removeAll(properties.keySet());
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException("Unknown fields " + unknown + ", expected any of " + properties.keySet());
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        properties.forEach((name, property) -> {
+            if (fields.contains(name)) {
+                attributes.put(name, property.attribute());
+            }
+        });
+        return attributes;
+    }
+
+    public R toResponse(Tuple tuple) {
+        R response = factory.get();
+        for (TupleElement<?> element : tuple.getElements()) {
+            properties.get(element.getAlias()).setter().accept(response, tuple.get(element));
+        }
+        return response;
+    }
+
+    private record Property<R>(String attribute, BiConsumer<R, Object> setter, boolean lazy) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.auth.exception;
+
+// Expected outcomes (unknown member, wrong OTP, ...) that GlobalExceptionHandler turns into an ApiError.
+// Nobody reads their stack traces, so none is captured; that also makes fixed-message instances
+// immutable and safe to share as constants.
+public abstract class BusinessException extends RuntimeException {
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,7 +1,10 @@
 package com.auth.exception;
 
-public class InvalidCredentialsException extends RuntimeException {
+public class InvalidCredentialsException extends BusinessException {
+    public static final InvalidCredentialsException EMAIL_ALREADY_REGISTERED =
+            new InvalidCredentialsException("Email already registered");
+
     public InvalidCredentialsException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.auth.exception;
+
+public class InvalidFieldsException extends BusinessException {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.auth.exception;
+
+public class InvalidImportFileException extends BusinessException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.auth.exception;
+
+public class MailUnavailableException extends BusinessException {
+    public static final MailUnavailableException INSTANCE =
+            new MailUnavailableException("Email delivery is temporarily unavailable, please retry later");
+
+    public MailUnavailableException(String message) {
+        super(message);
+    }
+}
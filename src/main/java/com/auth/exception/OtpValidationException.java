@@ -1,7 +1,10 @@
 package com.auth.exception;
 
-public class OtpValidationException extends RuntimeException {
+public class OtpValidationException extends BusinessException {
+    public static final OtpValidationException INVALID_OTP = new OtpValidationException("Invalid OTP");
+    public static final OtpValidationException OTP_EXPIRED = new OtpValidationException("OTP has expired");
+
     public OtpValidationException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
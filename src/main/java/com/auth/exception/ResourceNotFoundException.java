@@ -1,7 +1,11 @@
 package com.auth.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
+    public static final ResourceNotFoundException MEMBER_NOT_FOUND = new ResourceNotFoundException("Member not found");
+    public static final ResourceNotFoundException SESSION_NOT_FOUND = new ResourceNotFoundException("Session not found");
+    public static final ResourceNotFoundException RECORD_NOT_FOUND = new ResourceNotFoundException("Record not found");
+
     public ResourceNotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
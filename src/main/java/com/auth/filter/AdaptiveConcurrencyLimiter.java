@@ -0,0 +1,120 @@
+package com.auth.filter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Gradient-style limiter: the limit grows while short-term latency tracks the long-term baseline
+// and shrinks proportionally once latency rises above it, e.g. when MySQL slows down.
+// Requests only add their latency to lock-free window accumulators; whichever request completes a window
+// of windowSize samples folds it into the averages and recomputes the limit, while the rest carry on.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_WINDOW_WEIGHT = 1.0 / 600;
+    private static final double SHORT_WINDOW_WEIGHT = 1.0 / 10;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int windowSize;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final AtomicInteger windowSamples = new AtomicInteger();
+    private final LongAccumulator windowMaxInFlight = new LongAccumulator(Math::max, 0);
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    private volatile int limit;
+    // Only touched by the thread holding updating
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, double tolerance, int windowSize) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.windowSize = windowSize;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int inFlightAtStart = inFlight.getAndDecrement();
+        windowRttNanos.add(rttNanos);
+        windowMaxInFlight.accumulate(inFlightAtStart);
+        if (windowSamples.incrementAndGet() >= windowSize && updating.compareAndSet(false, true)) {
+            try {
+                updateLimit();
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    // A sample recorded while the window is drained may count toward either window, which the averages absorb
+    private void updateLimit() {
+        int samples = windowSamples.getAndSet(0);
+        long rttNanos = windowRttNanos.sumThenReset();
+        long maxInFlight = windowMaxInFlight.getThenReset();
+        if (samples == 0) {
+            return;
+        }
+        double rtt = (double) rttNanos / samples;
+        if (longRtt == 0) {
+            longRtt = rtt;
+            shortRtt = rtt;
+            return;
+        }
+        // One update per window, weighted as if each of its samples had been applied in turn
+        shortRtt += (rtt - shortRtt) * (1 - Math.pow(1 - SHORT_WINDOW_WEIGHT, samples));
+        longRtt += (rtt - longRtt) * (1 - Math.pow(1 - LONG_WINDOW_WEIGHT, samples));
+
+        // Let the baseline recover quickly after a sustained latency spike has passed
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Don't grow the limit while the load isn't using it
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
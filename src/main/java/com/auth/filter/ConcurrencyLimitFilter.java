@@ -0,0 +1,116 @@
+package com.auth.filter;
+
+import com.auth.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Qualifier("authConcurrencyLimiter")
+    private final AdaptiveConcurrencyLimiter authConcurrencyLimiter;
+    @Qualifier("memberDataConcurrencyLimiter")
+    private final AdaptiveConcurrencyLimiter memberDataConcurrencyLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.concurrency.enabled}")
+    private boolean enabled;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = enabled ? limiterFor(request.getRequestURI()) : null;
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean releaseOnCompletion = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Bulkheaded handlers return before their work is done; hold the slot until the response completes
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+                releaseOnCompletion = true;
+            }
+        } finally {
+            if (!releaseOnCompletion) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private record ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter, long start) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(String uri) {
+        if (uri.startsWith("/api/v1/auth/")) {
+            return authConcurrencyLimiter;
+        }
+        if (uri.startsWith("/api/v1/users/") || uri.startsWith("/api/v1/payments")) {
+            return memberDataConcurrencyLimiter;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ApiError apiError = ApiError.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("Server is busy, please retry later")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+}
@@ -0,0 +1,316 @@
+package com.auth.filter;
+
+import com.auth.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+
+// Replays the stored response when a client retries a member-data POST with the same Idempotency-Key,
+// without running the handler again. Keys are scoped to the member and endpoint and kept in a bounded
+// per-instance store; 5xx responses are not stored so the client can retry them for real.
+// The body is read and hashed once, before the store is consulted, so a stored request and its retry are
+// compared over exactly the same bytes; the handler then reads the buffered copy. Bodies above
+// max-body-bytes are refused with 413 before more than that is read.
+// Runs after Spring Security so the member is known.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String EXECUTION_ATTRIBUTE = IdempotencyFilter.class.getName() + ".EXECUTION";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_STORED_BODY_BYTES = 64 * 1024;
+    private static final Set<String> IDEMPOTENT_ENDPOINTS = Set.of(
+            "/api/v1/users/payments",
+            "/api/v1/users/addresses",
+            "/api/v1/users/dependents",
+            "/api/v1/users/health-records",
+            "/api/v1/users/allergy-records");
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final Cache<String, Entry> entries;
+
+    private sealed interface Entry permits InProgress, Completed {
+    }
+
+    private record InProgress() implements Entry {
+    }
+
+    private record Completed(byte[] requestHash, int status, String contentType, byte[] body) implements Entry {
+    }
+
+    // Kept on the request so the async dispatch of a bulkheaded handler can store the response
+    private record Execution(
+            String storeKey,
+            byte[] requestHash,
+            HttpServletRequest request,
+            ContentCachingResponseWrapper response
+    ) {
+    }
+
+    public IdempotencyFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.idempotency.enabled}") boolean enabled,
+            @Value("${application.idempotency.maximum-entries}") long maximumEntries,
+            @Value("${application.idempotency.ttl-minutes}") long ttlMinutes,
+            @Value("${application.idempotency.max-body-bytes}") int maxBodyBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !IDEMPOTENT_ENDPOINTS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Execution started = (Execution) request.getAttribute(EXECUTION_ATTRIBUTE);
+        if (started != null) {
+            // The container hands back the response already wrapped on the first pass
+            proceed(started, request, response, filterChain);
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters", "invalid");
+            return;
+        }
+        String storeKey = authentication.getName() + " " + request.getRequestURI() + " " + idempotencyKey;
+        byte[] body = request.getContentLengthLong() > maxBodyBytes
+                ? null
+                : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            reject(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with an " + IDEMPOTENCY_KEY_HEADER + " are limited to " + maxBodyBytes + " bytes",
+                    "too_large");
+            return;
+        }
+        byte[] requestHash = sha256(body);
+
+        Entry existing = entries.asMap().putIfAbsent(storeKey, new InProgress());
+        if (existing instanceof InProgress) {
+            reject(request, response, HttpStatus.CONFLICT,
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed", "in_progress");
+            return;
+        }
+        if (existing instanceof Completed completed) {
+            replay(request, response, completed, requestHash);
+            return;
+        }
+        execute(new BufferedBodyRequest(request, body), response, filterChain, storeKey, requestHash);
+    }
+
+    private void execute(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain,
+            String storeKey,
+            byte[] requestHash
+    ) throws ServletException, IOException {
+        Execution execution = new Execution(storeKey, requestHash, request, new ContentCachingResponseWrapper(response));
+        request.setAttribute(EXECUTION_ATTRIBUTE, execution);
+        proceed(execution, execution.request(), execution.response(), filterChain);
+    }
+
+    private void proceed(
+            Execution execution,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean handled = false;
+        try {
+            filterChain.doFilter(request, response);
+            handled = true;
+        } finally {
+            if (!isAsyncStarted(request)) {
+                complete(execution, handled);
+            }
+        }
+    }
+
+    private void complete(Execution execution, boolean handled) throws IOException {
+        ContentCachingResponseWrapper response = execution.response();
+        byte[] body = response.getContentAsByteArray();
+        if (handled && response.getStatus() < 500 && body.length <= MAX_STORED_BODY_BYTES) {
+            entries.put(execution.storeKey(), new Completed(
+                    execution.requestHash(),
+                    response.getStatus(),
+                    response.getContentType(),
+                    body));
+        } else {
+            entries.invalidate(execution.storeKey());
+        }
+        meterRegistry.counter("idempotency.requests", "outcome", "executed").increment();
+        response.copyBodyToResponse();
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, Completed completed,
+                        byte[] requestHash) throws IOException {
+        if (!Arrays.equals(completed.requestHash(), requestHash)) {
+            reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used with a different request body", "mismatch");
+            return;
+        }
+        meterRegistry.counter("idempotency.requests", "outcome", "replayed").increment();
+        response.setStatus(completed.status());
+        if (completed.contentType() != null) {
+            response.setContentType(completed.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(completed.body());
+    }
+
+    private void reject(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            HttpStatus status,
+            String message,
+            String outcome
+    ) throws IOException {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+        ApiError apiError = ApiError.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+
+    // Serves the body read up front to the handler
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("The request body is already buffered");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
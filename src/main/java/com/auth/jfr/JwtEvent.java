@@ -0,0 +1,26 @@
+package com.auth.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.auth.Jwt")
+@Label("JWT Operation")
+@Description("Signing, parsing or validating a JWT in JwtService")
+@Category({"OTP Auth", "Security"})
+@StackTrace(false)
+public class JwtEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+
+    public JwtEvent(String operation) {
+        this.operation = operation;
+    }
+}
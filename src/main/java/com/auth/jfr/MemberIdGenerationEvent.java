@@ -0,0 +1,25 @@
+package com.auth.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.auth.MemberIdGeneration")
+@Label("Member ID Generation")
+@Description("Lookup of the highest member ID for a prefix and formatting of the next one")
+@Category({"OTP Auth", "Registration"})
+@StackTrace(false)
+public class MemberIdGenerationEvent extends Event {
+
+    @Label("Prefix")
+    public String prefix;
+
+    @Label("Member ID")
+    public String memberId;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,26 @@
+package com.auth.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.auth.Otp")
+@Label("Login OTP")
+@Description("Sending or verifying a login OTP in AuthenticationService")
+@Category({"OTP Auth", "Authentication"})
+@StackTrace(false)
+public class OtpEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+
+    public OtpEvent(String operation) {
+        this.operation = operation;
+    }
+}
@@ -0,0 +1,19 @@
+package com.auth.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.auth.TokenBlacklistCheck")
+@Label("Token Blacklist Check")
+@Description("Lookup of a bearer token in the blacklist")
+@Category({"OTP Auth", "Security"})
+@StackTrace(false)
+public class TokenBlacklistCheckEvent extends Event {
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 @Data
 @Builder
@@ -13,7 +14,7 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "allergy_records")
 @IdClass(AllergyRecordId.class)
-public class AllergyRecord {
+public class AllergyRecord implements Persistable<AllergyRecordId> {
     
     @Id
     @Column(name = "member_id")
@@ -26,10 +27,34 @@ public class AllergyRecord {
     @Column(length = 100, nullable = false)
     private String allergies;
     
-    @Column(columnDefinition = "TEXT")
+    // Deflated in the database; list queries leave it out and it is read per record
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "BLOB")
     private String description;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", insertable = false, updatable = false)
     private Member member;
+
+    // Record numbers are assigned by the service, so new rows are persisted directly
+    // instead of going through the select-then-insert merge Spring Data uses for assigned IDs
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public AllergyRecordId getId() {
+        return new AllergyRecordId(memberId, recordNo);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newRecord = false;
+    }
 }
\ No newline at end of file
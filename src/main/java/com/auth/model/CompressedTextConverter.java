@@ -0,0 +1,104 @@
+package com.auth.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Stores free text as a one-byte marker followed by either plain UTF-8 (short or incompressible values,
+// where deflate would not pay for itself) or the original length plus raw deflate output at BEST_SPEED.
+// Rows written before compression have no marker and read back as plain UTF-8: text never starts with
+// a 0x00 or 0x01 byte, so the formats cannot be confused.
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    static final byte PLAIN = 0;
+    static final byte DEFLATED = 1;
+
+    private static final int HEADER_BYTES = 1 + Integer.BYTES;
+    private static final int MIN_COMPRESSIBLE_BYTES = 256;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESSIBLE_BYTES) {
+            byte[] deflated = deflate(utf8);
+            if (deflated != null) {
+                return deflated;
+            }
+        }
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = PLAIN;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+        return switch (stored[0]) {
+            case PLAIN -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATED -> inflate(stored);
+            default -> new String(stored, StandardCharsets.UTF_8);
+        };
+    }
+
+    // Null when the output would not be smaller than storing the text as is
+    private static byte[] deflate(byte[] utf8) {
+        byte[] out = new byte[utf8.length];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            int length = HEADER_BYTES;
+            while (!deflater.finished() && length < out.length) {
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            if (!deflater.finished()) {
+                return null;
+            }
+            out[0] = DEFLATED;
+            ByteBuffer.wrap(out, 1, Integer.BYTES).putInt(utf8.length);
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] stored) {
+        byte[] utf8 = new byte[ByteBuffer.wrap(stored, 1, Integer.BYTES).getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+            int length = 0;
+            while (length < utf8.length && !inflater.finished()) {
+                int inflated = inflater.inflate(utf8, length, utf8.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != utf8.length) {
+                throw new IllegalStateException("Compressed text is truncated");
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -41,6 +41,10 @@ public class Member {
     private String otp;
     private LocalDateTime otpExpiryTime;
 
+    // Owned by MemberActivityTracker's batched UPDATEs; JPA saves must not overwrite it with a stale value
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastActiveAt;
+
     @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Payment> payments;
 
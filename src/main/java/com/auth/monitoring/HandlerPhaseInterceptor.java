@@ -0,0 +1,29 @@
+package com.auth.monitoring;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Marks where the auth filter's work ends and the handler's begins, for SQL budgets and Server-Timing
+public class HandlerPhaseInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        // The async dispatch of a bulkheaded handler only writes the result; the handler started earlier
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.markHandlerStart();
+        }
+        ServerTiming.markHandlerStart();
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.auth.monitoring;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Carries the submitting request's security context, SQL counters and Server-Timing recorder onto
+// bulkhead threads, so member lookups, SQL budgets and timing headers cover work done off the servlet thread
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        SqlStatistics sqlStatistics = SqlStatistics.current();
+        ServerTiming serverTiming = ServerTiming.current();
+        return () -> {
+            SecurityContextHolder.setContext(securityContext);
+            SqlStatistics.resume(sqlStatistics);
+            ServerTiming.resume(serverTiming);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+                SqlStatistics.end();
+                ServerTiming.end();
+            }
+        };
+    }
+}
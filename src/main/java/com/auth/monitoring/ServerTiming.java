@@ -0,0 +1,83 @@
+package com.auth.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Request-scoped phase recorder; only bound to the thread when the caller asked for a Server-Timing header
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private long handlerStartedAt;
+    private long bodyWriteStartedAt;
+
+    private ServerTiming() {
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    static void resume(ServerTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static void record(String phase, long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phases.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    static void markHandlerStart() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.handlerStartedAt = System.nanoTime();
+        }
+    }
+
+    static void markBodyWrite() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.bodyWriteStartedAt == 0) {
+            timing.bodyWriteStartedAt = System.nanoTime();
+        }
+    }
+
+    String toHeader(SqlStatistics sqlStatistics) {
+        long now = System.nanoTime();
+        if (handlerStartedAt != 0 && bodyWriteStartedAt != 0) {
+            long handler = bodyWriteStartedAt - handlerStartedAt;
+            long db = sqlStatistics != null ? sqlStatistics.getHandlerNanos() : 0;
+            phases.put("db", db);
+            phases.put("app", Math.max(0, handler - db));
+            phases.put("serialize", now - bodyWriteStartedAt);
+        }
+        phases.put("total", now - startedAt);
+
+        StringBuilder header = new StringBuilder();
+        phases.forEach((phase, nanos) -> {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(phase).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+        });
+        return header.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.auth.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+// Opt-in per request with "X-Server-Timing: true". The body is buffered so the header can carry
+// the serialization phase, which is only known after the handler has written its response.
+// Phase timings would let anyone probe login and registration, so the header is only written for callers
+// on a trusted network or authenticated as an admin. This filter runs before Spring Security; admins are
+// recognised by TRUSTED_CALLER_ATTRIBUTE, which JwtAuthenticationFilter sets once the token checks out.
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    public static final String TRUSTED_CALLER_ATTRIBUTE = "com.auth.monitoring.ServerTimingFilter.trustedCaller";
+
+    private static final String TIMING_ATTRIBUTE = ServerTiming.class.getName();
+    private static final String WRAPPER_ATTRIBUTE = ServerTimingFilter.class.getName() + ".WRAPPER";
+
+    private final boolean enabled;
+    private final List<IpAddressMatcher> trustedNetworks;
+
+    // Anonymous callers from outside the trusted networks could never see the header, so skip the buffering
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"true".equalsIgnoreCase(request.getHeader(REQUEST_HEADER))) {
+            return true;
+        }
+        String authorization = request.getHeader("Authorization");
+        return !fromTrustedNetwork(request) && (authorization == null || !authorization.startsWith("Bearer "));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        ServerTiming timing = (ServerTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        ContentCachingResponseWrapper wrapper;
+        HttpServletResponse responseToUse;
+        if (timing == null) {
+            timing = ServerTiming.begin();
+            wrapper = new ContentCachingResponseWrapper(response);
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+            request.setAttribute(WRAPPER_ATTRIBUTE, wrapper);
+            responseToUse = wrapper;
+        } else {
+            // Async dispatch: the container hands back the response already wrapped on the first pass
+            ServerTiming.resume(timing);
+            wrapper = (ContentCachingResponseWrapper) request.getAttribute(WRAPPER_ATTRIBUTE);
+            responseToUse = response;
+        }
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            ServerTiming.end();
+            if (!isAsyncStarted(request)) {
+                if (isTrusted(request)) {
+                    wrapper.setHeader("Server-Timing", timing.toHeader(SqlStatistics.current()));
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private boolean isTrusted(HttpServletRequest request) {
+        return fromTrustedNetwork(request) || Boolean.TRUE.equals(request.getAttribute(TRUSTED_CALLER_ATTRIBUTE));
+    }
+
+    private boolean fromTrustedNetwork(HttpServletRequest request) {
+        return trustedNetworks.stream().anyMatch(network -> network.matches(request));
+    }
+}
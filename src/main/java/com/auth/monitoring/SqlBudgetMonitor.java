@@ -0,0 +1,46 @@
+package com.auth.monitoring;
+
+import com.auth.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.stream.Collectors;
+
+// Compares each handler's statement count with its budget. Overruns are logged and counted in
+// db.statements.budget.exceeded but never fail the request: by the time they are known the handler's
+// transaction has committed. Tests and the load harness enforce budgets by calling verify() afterwards.
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetMonitor {
+
+    static final String EXCEEDED_COUNTER = "db.statements.budget.exceeded";
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public void check(String endpoint, int statements) {
+        Integer budget = properties.getBudgets().get(endpoint);
+        if (budget == null || statements <= budget) {
+            return;
+        }
+        log.warn("{} issued {} SQL statements, budget is {}", endpoint, statements, budget);
+        meterRegistry.counter(EXCEEDED_COUNTER, "endpoint", endpoint).increment();
+    }
+
+    // Throws if any endpoint has gone over its budget since startup
+    public void verify() {
+        String exceeded = meterRegistry.find(EXCEEDED_COUNTER).counters().stream()
+                .filter(counter -> counter.count() > 0)
+                .map(SqlBudgetMonitor::describe)
+                .collect(Collectors.joining(", "));
+        if (!exceeded.isEmpty()) {
+            throw new SqlBudgetExceededException("SQL budgets exceeded: " + exceeded);
+        }
+    }
+
+    private static String describe(Counter counter) {
+        return String.format("%s (%d requests)", counter.getId().getTag("endpoint"), (long) counter.count());
+    }
+}
@@ -0,0 +1,18 @@
+package com.auth.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "application.sql")
+public class SqlBudgetProperties {
+
+    // Adds X-Sql-Statements and X-Sql-Time-Ms to every JSON response
+    private boolean responseHeaders = false;
+
+    // Statements a handler may issue, keyed by "<METHOD> <pattern>"
+    private Map<String, Integer> budgets = new HashMap<>();
+}
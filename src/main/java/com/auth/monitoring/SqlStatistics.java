@@ -0,0 +1,61 @@
+package com.auth.monitoring;
+
+// Per-request SQL counters bound to the handling thread by SqlStatisticsFilter, and carried onto
+// bulkhead threads by RequestContextTaskDecorator
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private int statementsBeforeHandler;
+    private long nanosBeforeHandler;
+
+    private SqlStatistics() {
+    }
+
+    static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    // Rebinds a request's counters on another thread (bulkhead worker, async dispatch)
+    static void resume(SqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void markHandlerStart() {
+        statementsBeforeHandler = statements;
+        nanosBeforeHandler = nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public int getHandlerStatements() {
+        return statements - statementsBeforeHandler;
+    }
+
+    public long getHandlerNanos() {
+        return nanos - nanosBeforeHandler;
+    }
+}
@@ -0,0 +1,70 @@
+package com.auth.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String ATTRIBUTE = SqlStatistics.class.getName();
+
+    private final MeterRegistry meterRegistry;
+
+    // Bulkheaded controllers finish in an async dispatch, which must see the same counters
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatistics statistics = (SqlStatistics) request.getAttribute(ATTRIBUTE);
+        if (statistics == null) {
+            statistics = SqlStatistics.begin();
+            request.setAttribute(ATTRIBUTE, statistics);
+        } else {
+            SqlStatistics.resume(statistics);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            if (!isAsyncStarted(request)) {
+                record(request, statistics);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        String endpoint = endpointOf(request);
+        DistributionSummary.builder("db.statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        meterRegistry.timer("db.time", "endpoint", endpoint)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+    }
+}
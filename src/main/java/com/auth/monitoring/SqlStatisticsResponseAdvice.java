@@ -0,0 +1,61 @@
+package com.auth.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Runs just before the body is serialized, when the handler's transaction has already committed, so budget
+// overruns are only reported here (see SqlBudgetMonitor)
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class SqlStatisticsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String CHECKED_ATTRIBUTE = SqlStatisticsResponseAdvice.class.getName() + ".CHECKED";
+
+    private final SqlBudgetProperties properties;
+    private final SqlBudgetMonitor sqlBudgetMonitor;
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return body;
+        }
+        if (properties.isResponseHeaders()) {
+            response.getHeaders().set("X-Sql-Statements", String.valueOf(statistics.getStatements()));
+            response.getHeaders().set("X-Sql-Time-Ms", String.format("%.2f", statistics.getNanos() / 1_000_000.0));
+        }
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            checkBudget(servletRequest.getServletRequest(), statistics);
+        }
+        return body;
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatistics statistics) {
+        if (request.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+
+        sqlBudgetMonitor.check(SqlStatisticsFilter.endpointOf(request), statistics.getHandlerStatements());
+    }
+}
@@ -3,9 +3,10 @@ package com.auth.repository;
 import com.auth.model.AllergyRecord;
 import com.auth.model.AllergyRecordId;
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AllergyRecordRepository extends JpaRepository<AllergyRecord, AllergyRecordId> {
-    List<AllergyRecord> findByMemberIdOrderByRecordNoAsc(String memberId);
+    @Query("SELECT COALESCE(MAX(a.recordNo), 0) FROM AllergyRecord a WHERE a.memberId = :memberId")
+    int findMaxRecordNo(@Param("memberId") String memberId);
 }
\ No newline at end of file
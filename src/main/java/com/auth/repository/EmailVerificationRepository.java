@@ -2,6 +2,15 @@ package com.auth.repository;
 
 import com.auth.model.EmailVerification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 
 public interface EmailVerificationRepository extends JpaRepository<EmailVerification, String> {
-}
\ No newline at end of file
+    // Walks idx_email_verifications_otp_expiry_time; LIMIT keeps each delete to one short transaction
+    @Modifying
+    @Query(value = "DELETE FROM email_verifications WHERE otp_expiry_time < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
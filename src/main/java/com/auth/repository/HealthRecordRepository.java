@@ -3,9 +3,10 @@ package com.auth.repository;
 import com.auth.model.HealthRecord;
 import com.auth.model.HealthRecordId;
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface HealthRecordRepository extends JpaRepository<HealthRecord, HealthRecordId> {
-    List<HealthRecord> findByMemberIdOrderByRecordNoAsc(String memberId);
+    @Query("SELECT COALESCE(MAX(h.recordNo), 0) FROM HealthRecord h WHERE h.memberId = :memberId")
+    int findMaxRecordNo(@Param("memberId") String memberId);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.auth.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+// Hands out member ID sequence numbers from member_id_sequences. The prefix row stays locked until the
+// caller's transaction ends (registration joins verifyEmail's, the import runs one per reservation), so
+// concurrent imports and registrations always get disjoint blocks. It deliberately does not open a
+// transaction of its own: a second connection taken while the caller holds one deadlocks the pool once
+// more callers than connections are in flight.
+@Repository
+@RequiredArgsConstructor
+public class MemberIdSequenceStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the first of blockSize consecutive numbers now reserved for the prefix. firstUnused seeds
+    // the row the first time a prefix is seen; INSERT IGNORE lets only one concurrent seeder win.
+    @Transactional
+    public int reserve(String prefix, int blockSize, IntSupplier firstUnused) {
+        Integer next = lockNext(prefix);
+        if (next == null) {
+            jdbcTemplate.update("INSERT IGNORE INTO member_id_sequences (prefix, next_value) VALUES (?, ?)",
+                    prefix, firstUnused.getAsInt());
+            next = lockNext(prefix);
+        }
+        jdbcTemplate.update("UPDATE member_id_sequences SET next_value = next_value + ? WHERE prefix = ?",
+                blockSize, prefix);
+        return next;
+    }
+
+    private Integer lockNext(String prefix) {
+        List<Integer> next = jdbcTemplate.queryForList(
+                "SELECT next_value FROM member_id_sequences WHERE prefix = ? FOR UPDATE", Integer.class, prefix);
+        return next.isEmpty() ? null : next.get(0);
+    }
+}
@@ -2,14 +2,32 @@ package com.auth.repository;
 
 import com.auth.model.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member, String> {
     Optional<Member> findByEmail(String email);
     
-    @Query("SELECT m.memberId FROM Member m WHERE m.memberId LIKE :prefix% ORDER BY m.memberId DESC")
+    @Query(value = "SELECT member_id FROM members WHERE member_id LIKE CONCAT(:prefix, '%') " +
+            "ORDER BY LENGTH(member_id) DESC, member_id DESC LIMIT 1", nativeQuery = true)
     Optional<String> findHighestMemberIdByPrefix(@Param("prefix") String prefix);
-}
\ No newline at end of file
+
+    @Query("SELECT m.memberId FROM Member m WHERE m.email = :email")
+    Optional<String> findMemberIdByEmail(@Param("email") String email);
+
+    // Login OTPs are written without loading the member; updatedAt is set here since @UpdateTimestamp is bypassed
+    @Modifying
+    @Query("UPDATE Member m SET m.otp = :otp, m.otpExpiryTime = :otpExpiryTime, m.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE m.memberId = :memberId")
+    int updateLoginOtp(@Param("memberId") String memberId, @Param("otp") String otp,
+                       @Param("otpExpiryTime") LocalDateTime otpExpiryTime);
+
+    @Query("SELECT m.email FROM Member m WHERE m.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
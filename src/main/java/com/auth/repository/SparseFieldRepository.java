@@ -0,0 +1,38 @@
+package com.auth.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Column-narrowed reads of a member's rows: only the requested attributes are selected, so an unrequested
+// TEXT column is never read from disk, sent over the wire or materialized into an entity
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldRepository {
+
+    private final EntityManager entityManager;
+
+    public List<Tuple> findByMemberId(Class<?> entityType, String memberId,
+                                      Map<String, String> attributesByAlias, String orderBy) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityType);
+
+        List<Selection<?>> selections = new ArrayList<>(attributesByAlias.size());
+        attributesByAlias.forEach((alias, attribute) -> selections.add(root.get(attribute).alias(alias)));
+        query.multiselect(selections).where(cb.equal(root.get("memberId"), memberId));
+        if (orderBy != null) {
+            query.orderBy(cb.asc(root.get(orderBy)));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+}
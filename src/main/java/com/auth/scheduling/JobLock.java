@@ -0,0 +1,20 @@
+package com.auth.scheduling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Runs a void @Scheduled method on at most one node at a time; other nodes skip the run.
+// The lease is renewed while the job runs, so a node that dies loses the lock within leaseSeconds.
+// minHoldSeconds keeps the lock after a fast run so nodes with slightly skewed clocks don't repeat it.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JobLock {
+
+    String name();
+
+    long leaseSeconds() default 300;
+
+    long minHoldSeconds() default 60;
+}
@@ -0,0 +1,95 @@
+package com.auth.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Outside the transaction interceptor so the lock is taken before, and released after, the job's transaction,
+// but just after Spring's ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1), which has to run first for
+// the annotation argument to be bound.
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class JobLockAspect implements DisposableBean {
+
+    private final JobLockStore store;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId =
+            ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("job-lock-renewal").daemon().factory());
+
+    @Around("@annotation(jobLock)")
+    public Object runLocked(ProceedingJoinPoint joinPoint, JobLock jobLock) throws Throwable {
+        String name = jobLock.name();
+        Duration lease = Duration.ofSeconds(jobLock.leaseSeconds());
+        Instant acquiredAt = Instant.now();
+        if (!store.tryAcquire(name, nodeId, acquiredAt, acquiredAt.plus(lease))) {
+            meterRegistry.counter("scheduled.job.skipped", "job", name).increment();
+            log.debug("Skipping job {}: locked by another node", name);
+            return null;
+        }
+
+        long renewEveryMillis = lease.toMillis() / 3;
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(
+                () -> renew(name, lease), renewEveryMillis, renewEveryMillis, TimeUnit.MILLISECONDS);
+        Timer.Sample run = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            run.stop(meterRegistry.timer("scheduled.job.duration", "job", name, "outcome", outcome));
+            renewal.cancel(false);
+
+            Instant releasedAt = Instant.now();
+            Instant minHoldUntil = acquiredAt.plusSeconds(jobLock.minHoldSeconds());
+            Instant lockUntil = minHoldUntil.isAfter(releasedAt) ? minHoldUntil : releasedAt;
+            try {
+                store.release(name, nodeId, lockUntil);
+            } catch (RuntimeException e) {
+                log.warn("Could not release lock for job {}; it expires at the end of its lease", name, e);
+            }
+            // Held time includes the minimum hold, since other nodes are locked out until then
+            meterRegistry.timer("scheduled.job.lock.held", "job", name)
+                    .record(Duration.between(acquiredAt, lockUntil));
+        }
+    }
+
+    private void renew(String name, Duration lease) {
+        try {
+            if (!store.extend(name, nodeId, Instant.now().plus(lease))) {
+                meterRegistry.counter("scheduled.job.lock.lost", "job", name).increment();
+                log.warn("Lock for job {} was taken over by another node while still running", name);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew lock for job {}", name, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+}
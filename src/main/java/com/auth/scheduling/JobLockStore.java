@@ -0,0 +1,48 @@
+package com.auth.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// One row per job in scheduled_job_locks. Each statement autocommits on its own connection,
+// independent of any transaction the job itself opens.
+@Component
+@RequiredArgsConstructor
+public class JobLockStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean tryAcquire(String name, String owner, Instant now, Instant lockUntil) {
+        int taken = jdbcTemplate.update(
+                "UPDATE scheduled_job_locks SET locked_by = ?, locked_at = ?, lock_until = ? " +
+                        "WHERE name = ? AND lock_until <= ?",
+                owner, Timestamp.from(now), Timestamp.from(lockUntil), name, Timestamp.from(now));
+        if (taken == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduled_job_locks (name, locked_by, locked_at, lock_until) VALUES (?, ?, ?, ?)",
+                    name, owner, Timestamp.from(now), Timestamp.from(lockUntil));
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Row exists and its lease is still live
+            return false;
+        }
+    }
+
+    // Returns false if another node has taken the lock over
+    public boolean extend(String name, String owner, Instant lockUntil) {
+        return jdbcTemplate.update(
+                "UPDATE scheduled_job_locks SET lock_until = ? WHERE name = ? AND locked_by = ?",
+                Timestamp.from(lockUntil), name, owner) == 1;
+    }
+
+    public void release(String name, String owner, Instant lockUntil) {
+        extend(name, owner, lockUntil);
+    }
+}
@@ -3,25 +3,36 @@ package com.auth.security;
 import com.auth.model.Member;
 import com.auth.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    public static final String ADMIN_ROLE = "ADMIN";
+
     private final MemberRepository memberRepository;
 
+    // Members allowed to run operator endpoints such as the bulk member import
+    @Value("${application.security.admin-member-ids:}")
+    private Set<String> adminMemberIds;
+
     @Override
     public UserDetails loadUserByUsername(String memberId) throws UsernameNotFoundException {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with memberId: " + memberId));
         
-        return new User(member.getMemberId(), "", new ArrayList<>());
+        return new User(member.getMemberId(), "", adminMemberIds.contains(member.getMemberId())
+                ? AuthorityUtils.createAuthorityList("ROLE_" + ADMIN_ROLE)
+                : List.of());
     }
 }
\ No newline at end of file
@@ -1,13 +1,22 @@
 package com.auth.security;
 
+import com.auth.audit.AuditEventType;
+import com.auth.audit.AuditLog;
+import com.auth.monitoring.ServerTiming;
+import com.auth.monitoring.ServerTimingFilter;
+import com.auth.service.MemberActivityTracker;
 import com.auth.service.TokenBlacklistService;
+import com.auth.session.SessionRegistry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,14 +25,46 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String PHASE_TIMER = "auth.filter";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final MemberActivityTracker memberActivityTracker;
+    private final AuditLog auditLog;
+    private final SessionRegistry sessionRegistry;
+
+    // Registered once here so the per-request path does not build meter IDs
+    private final PhaseTimers blacklistPhase;
+    private final PhaseTimers parsePhase;
+    private final PhaseTimers userLoadPhase;
+    private final PhaseTimers verifyPhase;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            TokenBlacklistService tokenBlacklistService,
+            MemberActivityTracker memberActivityTracker,
+            AuditLog auditLog,
+            SessionRegistry sessionRegistry,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.memberActivityTracker = memberActivityTracker;
+        this.auditLog = auditLog;
+        this.sessionRegistry = sessionRegistry;
+        this.blacklistPhase = PhaseTimers.register(meterRegistry, "blacklist");
+        this.parsePhase = PhaseTimers.register(meterRegistry, "jwt_parse");
+        this.userLoadPhase = PhaseTimers.register(meterRegistry, "user_load");
+        this.verifyPhase = PhaseTimers.register(meterRegistry, "jwt_verify");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -41,19 +82,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt = authHeader.substring(7);
         
         // Check if token is blacklisted before any other validation
-        if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
+        long mark = System.nanoTime();
+        boolean blacklisted = tokenBlacklistService.isTokenBlacklisted(jwt);
+        mark = record(mark, blacklistPhase, blacklisted ? blacklistPhase.rejected() : blacklistPhase.success());
+        if (blacklisted) {
+            auditLog.record(AuditEventType.TOKEN_REJECTED, null, "blacklisted");
             SecurityContextHolder.clearContext(); // Clear security context for blacklisted tokens
             filterChain.doFilter(request, response);
             return;
         }
 
+        PhaseTimers phase = parsePhase;
+        String memberId = null;
         try {
-            final String memberId = jwtService.extractMemberId(jwt);
-            
-            if (memberId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = jwtService.extractClaims(jwt);
+            memberId = claims.getSubject();
+            String sessionId = claims.get(JwtService.SESSION_ID_CLAIM, String.class);
+            mark = record(mark, phase, phase.success());
+
+            // Hash lookup against the in-memory registry; no database round trip per request
+            if (sessionRegistry.isRevoked(sessionId)) {
+                auditLog.record(AuditEventType.TOKEN_REJECTED, memberId, "revoked");
+                SecurityContextHolder.clearContext();
+            } else if (memberId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                phase = userLoadPhase;
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(memberId);
+                mark = record(mark, phase, phase.success());
                 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                phase = verifyPhase;
+                boolean valid = jwtService.isTokenValid(claims, userDetails);
+                mark = record(mark, phase, valid ? phase.success() : phase.rejected());
+                if (valid) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -61,12 +120,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(SessionRegistry.SESSION_ID_ATTRIBUTE, sessionId);
+                    if (AuthorityUtils.authorityListToSet(userDetails.getAuthorities())
+                            .contains("ROLE_" + CustomUserDetailsService.ADMIN_ROLE)) {
+                        request.setAttribute(ServerTimingFilter.TRUSTED_CALLER_ATTRIBUTE, Boolean.TRUE);
+                    }
+                    memberActivityTracker.record(memberId);
+                } else {
+                    auditLog.record(AuditEventType.TOKEN_REJECTED, memberId, "invalid");
                 }
             }
         } catch (Exception e) {
+            record(mark, phase, phase.error());
+            auditLog.record(AuditEventType.TOKEN_REJECTED, memberId, phase.name() + ": " + e.getClass().getSimpleName());
             SecurityContextHolder.clearContext();
         }
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Records the finished phase as a metric and a Server-Timing entry; the next phase starts from the same instant
+    private long record(long startedAt, PhaseTimers phase, Timer outcome) {
+        long now = System.nanoTime();
+        outcome.record(now - startedAt, TimeUnit.NANOSECONDS);
+        ServerTiming.record(phase.name(), now - startedAt);
+        return now;
+    }
+
+    private record PhaseTimers(String name, Timer success, Timer rejected, Timer error) {
+
+        static PhaseTimers register(MeterRegistry meterRegistry, String phase) {
+            return new PhaseTimers(phase,
+                    meterRegistry.timer(PHASE_TIMER, "phase", phase, "outcome", "success"),
+                    meterRegistry.timer(PHASE_TIMER, "phase", phase, "outcome", "rejected"),
+                    meterRegistry.timer(PHASE_TIMER, "phase", phase, "outcome", "error"));
+        }
+    }
+}
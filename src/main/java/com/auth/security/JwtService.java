@@ -1,5 +1,6 @@
 package com.auth.security;
 
+import com.auth.jfr.JwtEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -24,8 +25,27 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    // Session the token was issued for; absent on tokens issued before sessions were tracked
+    public static final String SESSION_ID_CLAIM = "sid";
+
     public String extractMemberId(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractClaims(token).getSubject();
+    }
+
+    // One parse for callers that need several claims, e.g. the member and session on every request
+    public Claims extractClaims(String token) {
+        JwtEvent event = new JwtEvent("parse");
+        event.begin();
+        try {
+            Claims claims = extractAllClaims(token);
+            event.outcome = "success";
+            return claims;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -37,8 +57,27 @@ public class JwtService {
         return generateToken(new HashMap<>(), memberId);
     }
 
+    public String generateToken(String memberId, String sessionId) {
+        return generateToken(Map.of(SESSION_ID_CLAIM, sessionId), memberId);
+    }
+
+    public long getExpirationMillis() {
+        return jwtExpiration;
+    }
+
     public String generateToken(Map<String, Object> extraClaims, String memberId) {
-        return buildToken(extraClaims, memberId, jwtExpiration);
+        JwtEvent event = new JwtEvent("generate");
+        event.begin();
+        try {
+            String token = buildToken(extraClaims, memberId, jwtExpiration);
+            event.outcome = "success";
+            return token;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     private String buildToken(
@@ -57,16 +96,24 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String memberId = extractMemberId(token);
-        return (memberId.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(extractClaims(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // For callers that already parsed the token with extractClaims, so it is not parsed again
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        JwtEvent event = new JwtEvent("verify");
+        event.begin();
+        try {
+            boolean valid = claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date());
+            event.outcome = valid ? "valid" : "invalid";
+            return valid;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     private Claims extractAllClaims(String token) {
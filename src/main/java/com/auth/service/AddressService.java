@@ -1,39 +1,63 @@
 package com.auth.service;
 
+import com.auth.concurrency.SingleFlight;
+import com.auth.datasource.ShardedByMember;
 import com.auth.dto.AddressRequest;
 import com.auth.dto.AddressResponse;
-import com.auth.exception.ResourceNotFoundException;
+import com.auth.dto.SparseFieldset;
 import com.auth.model.Address;
 import com.auth.repository.AddressRepository;
+import com.auth.repository.SparseFieldRepository;
 import com.auth.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
+@ShardedByMember
 public class AddressService {
 
+    private static final SparseFieldset<AddressResponse> FIELDS =
+            new SparseFieldset<AddressResponse>(AddressResponse::new)
+                    .property("addressLabel", "addressLabel", (r, v) -> r.setAddressLabel((String) v))
+                    .property("addressLine1", "addressLine1", (r, v) -> r.setAddressLine1((String) v))
+                    .property("addressLine2", "addressLine2", (r, v) -> r.setAddressLine2((String) v))
+                    .property("city", "city", (r, v) -> r.setCity((String) v))
+                    .property("state", "state", (r, v) -> r.setState((String) v))
+                    .property("zipCode", "zipCode", (r, v) -> r.setZipCode((String) v))
+                    .property("landmark", "landmark", (r, v) -> r.setLandmark((String) v));
+
     private final AddressRepository addressRepository;
     private final SecurityUtils securityUtils;
+    private final SparseFieldRepository sparseFieldRepository;
 
+    @SingleFlight("addresses")
     @Transactional(readOnly = true)
-    public List<AddressResponse> getCurrentUserAddresses() {
+    public List<AddressResponse> getCurrentUserAddresses(Set<String> fields) {
         String memberId = securityUtils.getCurrentUserId();
-        List<Address> addresses = addressRepository.findByMemberId(memberId);
-        
-        if (addresses.isEmpty()) {
-            throw new ResourceNotFoundException("No addresses found for the user");
+        if (SparseFieldset.isRequested(fields)) {
+            return sparseFieldRepository
+                    .findByMemberId(Address.class, memberId, FIELDS.attributes(fields), null)
+                    .stream()
+                    .map(FIELDS::toResponse)
+                    .collect(Collectors.toList());
         }
+
+        List<Address> addresses = addressRepository.findByMemberId(memberId);
         
         return addresses.stream()
                 .map(this::mapToAddressResponse)
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight(value = "addresses", invalidates = true)
     @Transactional
     public AddressResponse addAddress(AddressRequest request) {
         String memberId = securityUtils.getCurrentUserId();
@@ -1,48 +1,67 @@
 package com.auth.service;
 
+import com.auth.concurrency.SingleFlight;
+import com.auth.datasource.ShardedByMember;
 import com.auth.dto.AllergyRecordRequest;
 import com.auth.dto.AllergyRecordResponse;
+import com.auth.dto.SparseFieldset;
 import com.auth.exception.ResourceNotFoundException;
 import com.auth.model.AllergyRecord;
+import com.auth.model.AllergyRecordId;
 import com.auth.repository.AllergyRecordRepository;
+import com.auth.repository.SparseFieldRepository;
 import com.auth.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
+@ShardedByMember
 public class AllergyRecordService {
 
+    private static final SparseFieldset<AllergyRecordResponse> FIELDS =
+            new SparseFieldset<AllergyRecordResponse>(AllergyRecordResponse::new)
+                    .property("recordNo", "recordNo", (r, v) -> r.setRecordNo((Integer) v))
+                    .property("allergies", "allergies", (r, v) -> r.setAllergies((String) v))
+                    .lazyProperty("description", "description", (r, v) -> r.setDescription((String) v));
+
     private final AllergyRecordRepository allergyRecordRepository;
     private final SecurityUtils securityUtils;
+    private final SparseFieldRepository sparseFieldRepository;
 
+    @SingleFlight("allergy-records")
     @Transactional(readOnly = true)
-    public List<AllergyRecordResponse> getCurrentUserAllergyRecords() {
+    public List<AllergyRecordResponse> getCurrentUserAllergyRecords(Set<String> fields) {
         String memberId = securityUtils.getCurrentUserId();
-        List<AllergyRecord> allergyRecords = allergyRecordRepository.findByMemberIdOrderByRecordNoAsc(memberId);
-        
-        if (allergyRecords.isEmpty()) {
-            throw new ResourceNotFoundException("No allergy records found for the user");
-        }
-        
-        return allergyRecords.stream()
-                .map(this::mapToAllergyRecordResponse)
+        // The compressed description stays out of the list unless asked for; see getAllergyRecord
+        return sparseFieldRepository
+                .findByMemberId(AllergyRecord.class, memberId, FIELDS.attributes(fields), "recordNo")
+                .stream()
+                .map(FIELDS::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public AllergyRecordResponse getAllergyRecord(Integer recordNo) {
+        String memberId = securityUtils.getCurrentUserId();
+        return allergyRecordRepository.findById(new AllergyRecordId(memberId, recordNo))
+                .map(this::mapToAllergyRecordResponse)
+                .orElseThrow(() -> ResourceNotFoundException.RECORD_NOT_FOUND);
+    }
+
+    @SingleFlight(value = "allergy-records", invalidates = true)
     @Transactional
     public AllergyRecordResponse addAllergyRecord(AllergyRecordRequest request) {
         String memberId = securityUtils.getCurrentUserId();
         
-        Integer nextRecordNo = allergyRecordRepository.findByMemberIdOrderByRecordNoAsc(memberId)
-                .stream()
-                .map(AllergyRecord::getRecordNo)
-                .max(Integer::compareTo)
-                .orElse(0) + 1;
+        Integer nextRecordNo = allergyRecordRepository.findMaxRecordNo(memberId) + 1;
         
         AllergyRecord allergyRecord = AllergyRecord.builder()
                 .memberId(memberId)
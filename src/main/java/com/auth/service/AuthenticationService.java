@@ -1,12 +1,20 @@
 package com.auth.service;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.auth.audit.AuditEventType;
+import com.auth.audit.AuditLog;
 import com.auth.dto.AuthenticationRequest;
 import com.auth.dto.AuthenticationResponse;
 import com.auth.dto.LoginRequest;
@@ -14,17 +22,23 @@ import com.auth.dto.RegisterRequest;
 import com.auth.exception.InvalidCredentialsException;
 import com.auth.exception.OtpValidationException;
 import com.auth.exception.ResourceNotFoundException;
+import com.auth.jfr.OtpEvent;
 import com.auth.model.EmailVerification;
 import com.auth.model.Member;
 import com.auth.repository.EmailVerificationRepository;
 import com.auth.repository.MemberRepository;
 import com.auth.security.JwtService;
+import com.auth.session.MemberSession;
+import com.auth.session.SessionRegistry;
 
-import jakarta.mail.MessagingException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class AuthenticationService {
 
     private final MemberRepository memberRepository;
@@ -34,11 +48,24 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final TokenBlacklistService tokenBlacklistService;
     private final MemberIdGenerator memberIdGenerator;
+    private final PendingRegistrationCache pendingRegistrationCache;
+    private final MemberLookupCache memberLookupCache;
+    private final AuditLog auditLog;
+    private final SessionRegistry sessionRegistry;
 
+    // The returned future completes when the OTP email has been handed to SMTP
     @Transactional
-    public void register(RegisterRequest request) throws MessagingException {
-        if (memberRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new InvalidCredentialsException("Email already registered");
+    public CompletableFuture<Void> register(RegisterRequest request) {
+        request.setEmail(MemberLookupCache.normalizeEmail(request.getEmail()));
+        if (memberLookupCache.findMemberId(request.getEmail()).isPresent()) {
+            throw InvalidCredentialsException.EMAIL_ALREADY_REGISTERED;
+        }
+
+        // Repeated submits inside the cooldown get the OTP already sent rather than a new hash and write
+        Optional<String> pendingOtp = findReusableOtp(request);
+        if (pendingOtp.isPresent()) {
+            pendingRegistrationCache.recordReuse();
+            return emailService.sendVerificationEmail(request.getEmail(), pendingOtp.get());
         }
 
         String otp = generateOtp();
@@ -53,21 +80,39 @@ public class AuthenticationService {
                 .build();
         
         emailVerificationRepository.save(verification);
-        emailService.sendVerificationEmail(verification.getEmail(), otp);
+        pendingRegistrationCache.remember(verification.getEmail(), otp, verification.getOtp());
+        return emailService.sendVerificationEmail(verification.getEmail(), otp);
+    }
+
+    private Optional<String> findReusableOtp(RegisterRequest request) {
+        var recent = pendingRegistrationCache.recent(request.getEmail());
+        if (recent.isEmpty()) {
+            return Optional.empty();
+        }
+        var verification = emailVerificationRepository.findById(request.getEmail());
+        boolean unchanged = verification
+                .filter(existing -> existing.getOtp().equals(recent.get().otpHash()))
+                .filter(existing -> existing.getOtpExpiryTime().isAfter(LocalDateTime.now()))
+                .filter(existing -> Objects.equals(existing.getFullName(), request.getFullName())
+                        && Objects.equals(existing.getContact(), request.getContact())
+                        && Objects.equals(existing.getDob(), request.getDob()))
+                .isPresent();
+        return unchanged ? Optional.of(recent.get().otp()) : Optional.empty();
     }
 
     @Transactional
     public void verifyEmail(AuthenticationRequest request) {
-        var verification = emailVerificationRepository.findById(request.getEmail())
+        var verification = emailVerificationRepository.findById(MemberLookupCache.normalizeEmail(request.getEmail()))
                 .orElseThrow(() -> new ResourceNotFoundException("Registration request not found"));
 
         if (verification.getOtpExpiryTime().isBefore(LocalDateTime.now())) {
             emailVerificationRepository.delete(verification);
+            pendingRegistrationCache.forget(verification.getEmail());
             throw new OtpValidationException("OTP has expired. Please register again.");
         }
 
         if (!passwordEncoder.matches(request.getOtp(), verification.getOtp())) {
-            throw new OtpValidationException("Invalid OTP");
+            throw OtpValidationException.INVALID_OTP;
         }
 
         // Generate member ID and create new member
@@ -82,45 +127,91 @@ public class AuthenticationService {
                 .build();
         
         memberRepository.save(member);
+        memberLookupCache.memberCreated(member.getEmail(), memberId);
         emailVerificationRepository.delete(verification);
+        pendingRegistrationCache.forget(verification.getEmail());
         
+        // Log the error but don't fail the verification
+        emailService.sendWelcomeEmail(member.getEmail(), member.getFullName())
+                .exceptionally(e -> {
+                    log.warn("Welcome email to member {} failed: {}", memberId, e.getMessage());
+                    return null;
+                });
+    }
+
+    @Transactional
+    public CompletableFuture<Void> sendOtp(LoginRequest request) {
+        OtpEvent event = new OtpEvent("send");
+        event.begin();
+        CompletableFuture<Void> sent;
         try {
-            emailService.sendWelcomeEmail(member.getEmail(), member.getFullName());
-        } catch (MessagingException e) {
-            // Log the error but don't fail the verification
-            System.err.println("Failed to send welcome email: " + e.getMessage());
+            sent = issueLoginOtp(request);
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            event.commit();
+            auditLog.record(AuditEventType.OTP_SEND_FAILED, request.getEmail(), e.getMessage());
+            throw e;
         }
+        // The OTP only counts as sent once SMTP has accepted it
+        return sent.whenComplete((ignored, e) -> {
+            Throwable failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            event.outcome = failure == null ? "success" : failure.getClass().getSimpleName();
+            event.commit();
+            if (failure == null) {
+                auditLog.record(AuditEventType.OTP_SENT, request.getEmail(), null);
+            } else {
+                auditLog.record(AuditEventType.OTP_SEND_FAILED, request.getEmail(), failure.getMessage());
+            }
+        });
     }
 
-    @Transactional
-    public void sendOtp(LoginRequest request) throws MessagingException {
-    var member = memberRepository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
+    private CompletableFuture<Void> issueLoginOtp(LoginRequest request) {
+    String memberId = memberLookupCache.findMemberId(request.getEmail())
+            .orElseThrow(() -> ResourceNotFoundException.MEMBER_NOT_FOUND);
 
-    // Generate OTP and store it as plain text
+    // Generate OTP and store it as plain text (no encoding), without reading the member first
     String otp = generateOtp();
-    member.setOtp(otp);  // Store OTP as plain text (no encoding)
-    member.setOtpExpiryTime(LocalDateTime.now().plusMinutes(1));
-    memberRepository.save(member);
+    if (memberRepository.updateLoginOtp(memberId, otp, LocalDateTime.now().plusMinutes(1)) == 0) {
+        memberLookupCache.invalidate(request.getEmail());
+        throw ResourceNotFoundException.MEMBER_NOT_FOUND;
+    }
 
-    emailService.sendOtpEmail(member.getEmail(), otp);
+    return emailService.sendOtpEmail(request.getEmail(), otp);
     }
 
 
     @Transactional
-    public AuthenticationResponse verifyOtp(AuthenticationRequest request) {
-    // Retrieve member by email instead of memberId
-    var member = memberRepository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
+    public AuthenticationResponse verifyOtp(AuthenticationRequest request, String device) {
+        OtpEvent event = new OtpEvent("verify");
+        event.begin();
+        try {
+            AuthenticationResponse response = verifyLoginOtp(request, device);
+            event.outcome = "success";
+            auditLog.record(AuditEventType.OTP_VERIFIED, request.getEmail(), null);
+            return response;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            auditLog.record(AuditEventType.OTP_VERIFY_FAILED, request.getEmail(), e.getMessage());
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private AuthenticationResponse verifyLoginOtp(AuthenticationRequest request, String device) {
+    // Resolve the email through the lookup cache, then load the member by primary key
+    var member = memberLookupCache.findMemberId(request.getEmail())
+            .flatMap(memberRepository::findById)
+            .orElseThrow(() -> ResourceNotFoundException.MEMBER_NOT_FOUND);
 
     // Check if OTP has expired
     if (member.getOtpExpiryTime().isBefore(LocalDateTime.now())) {
-        throw new OtpValidationException("OTP has expired");
+        throw OtpValidationException.OTP_EXPIRED;
     }
 
     // Validate the OTP entered by the user (no hashing, just direct comparison)
     if (!request.getOtp().equals(member.getOtp())) {
-        throw new OtpValidationException("Invalid OTP");
+        throw OtpValidationException.INVALID_OTP;
     }
 
     // Clear OTP and expiry time after successful verification
@@ -128,8 +219,9 @@ public class AuthenticationService {
     member.setOtpExpiryTime(null);
     memberRepository.save(member);
 
-    // Generate and return the JWT token
-    String token = jwtService.generateToken(member.getMemberId());
+    // Generate and return the JWT token, bound to a new session the member can later revoke
+    MemberSession session = sessionRegistry.open(member.getMemberId(), device);
+    String token = jwtService.generateToken(member.getMemberId(), session.sessionId());
 
     return AuthenticationResponse.builder()
             .token(token)
@@ -137,9 +229,17 @@ public class AuthenticationService {
     }
 
     @Transactional
-    public void logout(String token) {
+    public void logout(String token, String sessionId) {
         LocalDateTime expiryDate = LocalDateTime.now().plusDays(1);
         tokenBlacklistService.blacklistToken(token, expiryDate);
+
+        // Set by JwtAuthenticationFilter when the token was still valid; logout itself is open to anyone
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String memberId = authentication == null ? null : authentication.getName();
+        if (memberId != null && sessionId != null) {
+            sessionRegistry.revoke(memberId, sessionId);
+        }
+        auditLog.record(AuditEventType.LOGOUT, memberId, null);
     }
 
     private String generateOtp() {
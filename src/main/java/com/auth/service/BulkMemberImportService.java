@@ -0,0 +1,281 @@
+package com.auth.service;
+
+import com.auth.dto.BulkImportRowError;
+import com.auth.dto.BulkImportStatusResponse;
+import com.auth.dto.MemberImportRow;
+import com.auth.exception.ResourceNotFoundException;
+import com.auth.model.Member;
+import com.auth.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkMemberImportService {
+
+    private static final int EMAIL_LOOKUP_BATCH = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final MemberRepository memberRepository;
+    private final MemberIdGenerator memberIdGenerator;
+    private final MemberImportParser memberImportParser;
+    private final MemberLookupCache memberLookupCache;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    @Qualifier("bulkImportExecutor")
+    private final TaskExecutor bulkImportExecutor;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${application.import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${application.import.validation-parallelism}")
+    private int validationParallelism;
+
+    // Spools the upload to a temporary file rather than holding it in memory; the job then reads it back
+    // chunkSize rows at a time. A CSV with a bad header is rejected here, before a job is queued.
+    public BulkImportStatusResponse submit(InputStream body, MemberImportParser.Format format) throws IOException {
+        Path upload = Files.createTempFile("member-import-", ".upload");
+        MemberImportParser.RowReader reader;
+        try {
+            Files.copy(body, upload, StandardCopyOption.REPLACE_EXISTING);
+            reader = memberImportParser.open(Files.newInputStream(upload), format);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        evictFinishedJobs();
+        jobs.put(job.id, job);
+        try {
+            bulkImportExecutor.execute(() -> run(job, reader, upload));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            reader.close();
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        return job.toResponse();
+    }
+
+    public BulkImportStatusResponse getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job, MemberImportParser.RowReader reader, Path upload) {
+        job.status = "RUNNING";
+        Set<String> seenEmails = new HashSet<>();
+        ForkJoinPool validationPool = new ForkJoinPool(validationParallelism);
+        try (reader) {
+            boolean more = true;
+            while (more) {
+                List<MemberImportRow> rows = new ArrayList<>(chunkSize);
+                List<BulkImportRowError> parseErrors = new ArrayList<>();
+                more = reader.read(chunkSize, rows, parseErrors);
+                job.totalRows.addAndGet(rows.size() + parseErrors.size());
+                parseErrors.forEach(job::fail);
+
+                List<MemberImportRow> valid = removeDuplicates(job, validate(job, rows, validationPool), seenEmails);
+                if (!valid.isEmpty()) {
+                    insertChunk(job, assignMemberIds(valid), valid);
+                }
+                log.info("Import {}: {} rows processed", job.id, job.processed.get());
+            }
+            job.status = "COMPLETED";
+        } catch (IOException | RuntimeException e) {
+            log.error("Import {} aborted", job.id, e);
+            job.status = "FAILED";
+        } finally {
+            validationPool.shutdown();
+            job.completedAt = LocalDateTime.now();
+            deleteUpload(upload);
+        }
+    }
+
+    private List<MemberImportRow> validate(ImportJob job, List<MemberImportRow> rows, ForkJoinPool pool) {
+        Map<Boolean, List<MemberImportRow>> partitioned = pool.submit(() -> rows.parallelStream()
+                .collect(Collectors.partitioningBy(row -> isValid(job, row)))).join();
+        return partitioned.get(true);
+    }
+
+    private boolean isValid(ImportJob job, MemberImportRow row) {
+        Set<ConstraintViolation<MemberImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            row.setEmail(MemberLookupCache.normalizeEmail(row.getEmail()));
+            return true;
+        }
+        String message = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        job.fail(new BulkImportRowError(row.getRowNumber(), row.getEmail(), message));
+        return false;
+    }
+
+    // seenEmails carries the emails of earlier chunks, so duplicates are caught across the whole file
+    private List<MemberImportRow> removeDuplicates(ImportJob job, List<MemberImportRow> rows, Set<String> seenEmails) {
+        Set<String> existing = new HashSet<>();
+        List<String> emails = rows.stream().map(MemberImportRow::getEmail).distinct().toList();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_BATCH) {
+            existing.addAll(memberRepository.findExistingEmails(
+                    emails.subList(from, Math.min(from + EMAIL_LOOKUP_BATCH, emails.size()))));
+        }
+
+        List<MemberImportRow> unique = new ArrayList<>(rows.size());
+        for (MemberImportRow row : rows) {
+            if (existing.contains(row.getEmail())) {
+                job.fail(new BulkImportRowError(row.getRowNumber(), row.getEmail(), "Email already registered"));
+            } else if (!seenEmails.add(row.getEmail())) {
+                job.fail(new BulkImportRowError(row.getRowNumber(), row.getEmail(), "Duplicate email in import file"));
+            } else {
+                unique.add(row);
+            }
+        }
+        return unique;
+    }
+
+    // Reserves one block of sequence numbers per prefix, then hands them out in file order
+    private List<Member> assignMemberIds(List<MemberImportRow> rows) {
+        Map<String, Integer> countByPrefix = new LinkedHashMap<>();
+        for (MemberImportRow row : rows) {
+            countByPrefix.merge(memberIdGenerator.prefixFor(row.getFullName(), row.getDob()), 1, Integer::sum);
+        }
+        Map<String, Integer> nextByPrefix = new LinkedHashMap<>();
+        countByPrefix.forEach((prefix, count) ->
+                nextByPrefix.put(prefix, memberIdGenerator.allocateSequence(prefix, count)));
+
+        List<Member> members = new ArrayList<>(rows.size());
+        for (MemberImportRow row : rows) {
+            String prefix = memberIdGenerator.prefixFor(row.getFullName(), row.getDob());
+            int sequence = nextByPrefix.merge(prefix, 1, Integer::sum) - 1;
+            members.add(Member.builder()
+                    .memberId(memberIdGenerator.formatMemberId(prefix, sequence))
+                    .fullName(row.getFullName())
+                    .email(row.getEmail())
+                    .contact(row.getContact())
+                    .dob(row.getDob())
+                    .build());
+        }
+        return members;
+    }
+
+    private void insertChunk(ImportJob job, List<Member> chunk, List<MemberImportRow> rows) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // persist() skips the select-before-insert that save() does for assigned IDs,
+                // letting Hibernate group the chunk into JDBC batches
+                chunk.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            // Drop any "unknown email" entries so imported members can log in right away
+            chunk.forEach(member -> memberLookupCache.invalidate(member.getEmail()));
+            job.imported.addAndGet(chunk.size());
+            job.processed.addAndGet(chunk.size());
+        } catch (RuntimeException e) {
+            log.warn("Import {}: chunk starting at row {} rolled back", job.id, rows.get(0).getRowNumber(), e);
+            rows.forEach(row -> job.fail(new BulkImportRowError(
+                    row.getRowNumber(), row.getEmail(), "Chunk rolled back: " + e.getClass().getSimpleName())));
+        }
+    }
+
+    private void deleteUpload(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete import upload {}", upload, e);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.completedAt != null)
+                .sorted((a, b) -> a.completedAt.compareTo(b.completedAt))
+                .limit(jobs.size() - MAX_RETAINED_JOBS + 1L)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        // Grows as the upload is read; final once the job has completed
+        private final AtomicInteger totalRows = new AtomicInteger();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Queue<BulkImportRowError> errors = new ConcurrentLinkedQueue<>();
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime completedAt;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void fail(BulkImportRowError error) {
+            processed.incrementAndGet();
+            if (failed.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        private BulkImportStatusResponse toResponse() {
+            List<BulkImportRowError> snapshot = new ArrayList<>(errors);
+            snapshot.sort((a, b) -> Integer.compare(a.getRowNumber(), b.getRowNumber()));
+            return BulkImportStatusResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .totalRows(totalRows.get())
+                    .processedRows(processed.get())
+                    .importedRows(imported.get())
+                    .failedRows(failed.get())
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .errors(Collections.unmodifiableList(snapshot))
+                    .build();
+        }
+    }
+}
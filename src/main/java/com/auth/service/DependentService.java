@@ -1,39 +1,64 @@
 package com.auth.service;
 
+import com.auth.concurrency.SingleFlight;
+import com.auth.datasource.ShardedByMember;
 import com.auth.dto.DependentRequest;
 import com.auth.dto.DependentResponse;
-import com.auth.exception.ResourceNotFoundException;
+import com.auth.dto.SparseFieldset;
 import com.auth.model.Dependent;
 import com.auth.repository.DependentRepository;
+import com.auth.repository.SparseFieldRepository;
 import com.auth.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
+@ShardedByMember
 public class DependentService {
 
+    private static final SparseFieldset<DependentResponse> FIELDS =
+            new SparseFieldset<DependentResponse>(DependentResponse::new)
+                    .property("fullName", "fullName", (r, v) -> r.setFullName((String) v))
+                    .property("relation", "relation", (r, v) -> r.setRelation((String) v))
+                    .property("dob", "dob", (r, v) -> r.setDob((LocalDate) v))
+                    .property("mobileNumber", "mobileNumber", (r, v) -> r.setMobileNumber((String) v))
+                    .property("emailAddress", "emailAddress", (r, v) -> r.setEmailAddress((String) v))
+                    .property("emergencySosContact", "emergencySosContact",
+                            (r, v) -> r.setEmergencySosContact((Boolean) v));
+
     private final DependentRepository dependentRepository;
     private final SecurityUtils securityUtils;
+    private final SparseFieldRepository sparseFieldRepository;
 
+    @SingleFlight("dependents")
     @Transactional(readOnly = true)
-    public List<DependentResponse> getCurrentUserDependents() {
+    public List<DependentResponse> getCurrentUserDependents(Set<String> fields) {
         String memberId = securityUtils.getCurrentUserId();
-        List<Dependent> dependents = dependentRepository.findByMemberId(memberId);
-        
-        if (dependents.isEmpty()) {
-            throw new ResourceNotFoundException("No dependents found for the user");
+        if (SparseFieldset.isRequested(fields)) {
+            return sparseFieldRepository
+                    .findByMemberId(Dependent.class, memberId, FIELDS.attributes(fields), null)
+                    .stream()
+                    .map(FIELDS::toResponse)
+                    .collect(Collectors.toList());
         }
+
+        List<Dependent> dependents = dependentRepository.findByMemberId(memberId);
         
         return dependents.stream()
                 .map(this::mapToDependentResponse)
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight(value = "dependents", invalidates = true)
     @Transactional
     public DependentResponse addDependent(DependentRequest request) {
         String memberId = securityUtils.getCurrentUserId();
@@ -1,51 +1,199 @@
 package com.auth.service;
 
+import com.auth.concurrency.CircuitBreaker;
+import com.auth.exception.MailUnavailableException;
+import io.micrometer.core.annotation.Timed;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// All sends run on the email bulkhead so a slow SMTP server never holds request threads, and go through
+// the SMTP circuit breaker so a failing one is not waited on at all. While the breaker is open, mails that
+// stay useful for a while (verification, welcome) are parked in the outbox and resent once SMTP recovers;
+// login OTPs expire within a minute, so they fail fast with a 503 instead.
+// Only connection failures, timeouts and transient 4xx replies count against the breaker and are parked.
+// A 5xx reply (unknown recipient, message refused) means SMTP is working and this mail will never be
+// accepted, so it fails the send, or is dropped from the outbox, without being retried.
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
+    private static final Duration VERIFICATION_QUEUE_FOR = Duration.ofMinutes(5);
+    private static final Duration WELCOME_QUEUE_FOR = Duration.ofHours(1);
+
     private final JavaMailSender mailSender;
+    private final CircuitBreaker smtpCircuitBreaker;
+    private final MailOutbox mailOutbox;
+    @Qualifier("emailBulkhead")
+    private final Executor emailBulkhead;
+    private final AtomicBoolean draining = new AtomicBoolean();
 
-    public void sendVerificationEmail(String to, String otp) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        
-        helper.setFrom("noreply@yourapp.com");
-        helper.setTo(to);
-        helper.setSubject("Verify Your Email");
-        helper.setText("Your email verification OTP is: " + otp + ". This OTP will expire in 5 minutes.");
-        
-        mailSender.send(message);
+    @Timed(value = "email.send", extraTags = {"type", "verification"})
+    public CompletableFuture<Void> sendVerificationEmail(String to, String otp) {
+        return deliver("verification", VERIFICATION_QUEUE_FOR, helper -> {
+            helper.setTo(to);
+            helper.setSubject("Verify Your Email");
+            helper.setText("Your email verification OTP is: " + otp + ". This OTP will expire in 5 minutes.");
+        });
     }
 
-    public void sendOtpEmail(String to, String otp) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        
-        helper.setFrom("noreply@yourapp.com");
-        helper.setTo(to);
-        helper.setSubject("Your OTP for Authentication");
-        helper.setText("Your OTP is: " + otp + ". This OTP will expire in 1 minute.");
-        
-        mailSender.send(message);
+    @Timed(value = "email.send", extraTags = {"type", "otp"})
+    public CompletableFuture<Void> sendOtpEmail(String to, String otp) {
+        return deliver("otp", null, helper -> {
+            helper.setTo(to);
+            helper.setSubject("Your OTP for Authentication");
+            helper.setText("Your OTP is: " + otp + ". This OTP will expire in 1 minute.");
+        });
+    }
+
+    @Timed(value = "email.send", extraTags = {"type", "welcome"})
+    public CompletableFuture<Void> sendWelcomeEmail(String to, String name) {
+        return deliver("welcome", WELCOME_QUEUE_FOR, helper -> {
+            helper.setTo(to);
+            helper.setSubject("Welcome to Our Application!");
+            helper.setText("Dear " + name + ",\n\nWelcome to our application! We're glad to have you on board.");
+        });
     }
 
-    public void sendWelcomeEmail(String to, String name) throws MessagingException {
+    // Outbox entries are resent from this node; the breaker decides whether SMTP gets probed at all
+    @Scheduled(fixedDelayString = "${application.mail.outbox.drain-interval-ms}")
+    public void drainOutbox() {
+        if (mailOutbox.isEmpty() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            emailBulkhead.execute(() -> {
+                try {
+                    drainWhilePermitted();
+                } finally {
+                    draining.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            draining.set(false);
+        }
+    }
+
+    private CompletableFuture<Void> deliver(String type, Duration queueFor, MessageWriter writer) {
         MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        
-        helper.setFrom("noreply@yourapp.com");
-        helper.setTo(to);
-        helper.setSubject("Welcome to Our Application!");
-        helper.setText("Dear " + name + ",\n\nWelcome to our application! We're glad to have you on board.");
-        
-        mailSender.send(message);
-    }
-}
\ No newline at end of file
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom("noreply@yourapp.com");
+            writer.write(helper);
+        } catch (MessagingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CircuitBreaker.Permit permit = smtpCircuitBreaker.tryAcquirePermission();
+        if (permit == null) {
+            return fallback(type, message, queueFor, MailUnavailableException.INSTANCE);
+        }
+        try {
+            return CompletableFuture.runAsync(() -> send(message, permit), emailBulkhead)
+                    .exceptionallyCompose(e -> isPermanent(e)
+                            ? CompletableFuture.failedFuture(unwrap(e))
+                            : fallback(type, message, queueFor, e));
+        } catch (TaskRejectedException e) {
+            smtpCircuitBreaker.releasePermission(permit);
+            return fallback(type, message, queueFor, e);
+        }
+    }
+
+    private void send(MimeMessage message, CircuitBreaker.Permit permit) {
+        long start = System.nanoTime();
+        try {
+            mailSender.send(message);
+        } catch (RuntimeException e) {
+            if (isPermanent(e)) {
+                // The server answered properly, so as far as the breaker is concerned SMTP is healthy
+                smtpCircuitBreaker.onSuccess(permit, System.nanoTime() - start);
+            } else {
+                smtpCircuitBreaker.onFailure(permit);
+            }
+            throw e;
+        }
+        smtpCircuitBreaker.onSuccess(permit, System.nanoTime() - start);
+    }
+
+    private CompletableFuture<Void> fallback(String type, MimeMessage message, Duration queueFor, Throwable cause) {
+        if (queueFor != null && mailOutbox.offer(type, message, queueFor)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.failedFuture(unwrap(cause));
+    }
+
+    private void drainWhilePermitted() {
+        CircuitBreaker.Permit permit;
+        while ((permit = smtpCircuitBreaker.tryAcquirePermission()) != null) {
+            MailOutbox.Pending pending = mailOutbox.poll();
+            if (pending == null) {
+                smtpCircuitBreaker.releasePermission(permit);
+                return;
+            }
+            try {
+                send(pending.message(), permit);
+                mailOutbox.delivered(pending);
+            } catch (RuntimeException e) {
+                if (isPermanent(e)) {
+                    log.warn("Dropping queued {} email, SMTP refused it: {}", pending.type(), e.getMessage());
+                    mailOutbox.rejected(pending);
+                    continue;
+                }
+                log.warn("Resending queued {} email failed: {}", pending.type(), e.getMessage());
+                mailOutbox.requeue(pending);
+                return;
+            }
+        }
+    }
+
+    // True when SMTP answered with a 5xx for this message or one of its recipients. JavaMailSenderImpl
+    // reports those per message, with the SMTP exception chained behind a SendFailedException.
+    static boolean isPermanent(Throwable failure) {
+        Throwable e = unwrap(failure);
+        if (e instanceof MailSendException sendException) {
+            return sendException.getFailedMessages().values().stream().anyMatch(EmailService::hasPermanentReply)
+                    || hasPermanentReply(sendException.getCause());
+        }
+        return false;
+    }
+
+    private static boolean hasPermanentReply(Throwable e) {
+        while (e != null) {
+            int returnCode = e instanceof SMTPAddressFailedException addressFailed ? addressFailed.getReturnCode()
+                    : e instanceof SMTPSendFailedException sendFailed ? sendFailed.getReturnCode()
+                    : -1;
+            if (returnCode >= 500) {
+                return true;
+            }
+            Throwable next = e instanceof MessagingException messaging ? messaging.getNextException() : null;
+            e = next != null ? next : e.getCause();
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    @FunctionalInterface
+    private interface MessageWriter {
+        void write(MimeMessageHelper helper) throws MessagingException;
+    }
+}
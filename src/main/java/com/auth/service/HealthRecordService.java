@@ -1,48 +1,67 @@
 package com.auth.service;
 
+import com.auth.concurrency.SingleFlight;
+import com.auth.datasource.ShardedByMember;
 import com.auth.dto.HealthRecordRequest;
 import com.auth.dto.HealthRecordResponse;
+import com.auth.dto.SparseFieldset;
 import com.auth.exception.ResourceNotFoundException;
 import com.auth.model.HealthRecord;
+import com.auth.model.HealthRecordId;
 import com.auth.repository.HealthRecordRepository;
+import com.auth.repository.SparseFieldRepository;
 import com.auth.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
+@ShardedByMember
 public class HealthRecordService {
 
+    private static final SparseFieldset<HealthRecordResponse> FIELDS =
+            new SparseFieldset<HealthRecordResponse>(HealthRecordResponse::new)
+                    .property("recordNo", "recordNo", (r, v) -> r.setRecordNo((Integer) v))
+                    .property("healthCondition", "healthCondition", (r, v) -> r.setHealthCondition((String) v))
+                    .lazyProperty("description", "description", (r, v) -> r.setDescription((String) v));
+
     private final HealthRecordRepository healthRecordRepository;
     private final SecurityUtils securityUtils;
+    private final SparseFieldRepository sparseFieldRepository;
 
+    @SingleFlight("health-records")
     @Transactional(readOnly = true)
-    public List<HealthRecordResponse> getCurrentUserHealthRecords() {
+    public List<HealthRecordResponse> getCurrentUserHealthRecords(Set<String> fields) {
         String memberId = securityUtils.getCurrentUserId();
-        List<HealthRecord> healthRecords = healthRecordRepository.findByMemberIdOrderByRecordNoAsc(memberId);
-        
-        if (healthRecords.isEmpty()) {
-            throw new ResourceNotFoundException("No health records found for the user");
-        }
-        
-        return healthRecords.stream()
-                .map(this::mapToHealthRecordResponse)
+        // The compressed description stays out of the list unless asked for; see getHealthRecord
+        return sparseFieldRepository
+                .findByMemberId(HealthRecord.class, memberId, FIELDS.attributes(fields), "recordNo")
+                .stream()
+                .map(FIELDS::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public HealthRecordResponse getHealthRecord(Integer recordNo) {
+        String memberId = securityUtils.getCurrentUserId();
+        return healthRecordRepository.findById(new HealthRecordId(memberId, recordNo))
+                .map(this::mapToHealthRecordResponse)
+                .orElseThrow(() -> ResourceNotFoundException.RECORD_NOT_FOUND);
+    }
+
+    @SingleFlight(value = "health-records", invalidates = true)
     @Transactional
     public HealthRecordResponse addHealthRecord(HealthRecordRequest request) {
         String memberId = securityUtils.getCurrentUserId();
         
-        Integer nextRecordNo = healthRecordRepository.findByMemberIdOrderByRecordNoAsc(memberId)
-                .stream()
-                .map(HealthRecord::getRecordNo)
-                .max(Integer::compareTo)
-                .orElse(0) + 1;
+        Integer nextRecordNo = healthRecordRepository.findMaxRecordNo(memberId) + 1;
         
         HealthRecord healthRecord = HealthRecord.builder()
                 .memberId(memberId)
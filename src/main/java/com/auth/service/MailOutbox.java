@@ -0,0 +1,69 @@
+package com.auth.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Bounded, in-memory holding area for mails that could not be handed to SMTP. Each entry carries the
+// point after which it is useless (an expired OTP, a stale welcome) and is dropped instead of sent.
+// Entries live on this node only, so a restart loses them just like an SMTP outage would have.
+public class MailOutbox {
+
+    private final BlockingQueue<Pending> queue;
+    private final MeterRegistry meterRegistry;
+
+    public MailOutbox(int capacity, MeterRegistry meterRegistry) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("mail.outbox.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean offer(String type, MimeMessage message, Duration maxAge) {
+        boolean queued = queue.offer(new Pending(type, message, Instant.now().plus(maxAge)));
+        count(type, queued ? "queued" : "dropped");
+        return queued;
+    }
+
+    public Pending poll() {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            if (pending.expiresAt().isAfter(Instant.now())) {
+                return pending;
+            }
+            count(pending.type(), "expired");
+        }
+        return null;
+    }
+
+    // Puts back an entry whose resend failed; it is dropped if the queue filled up in the meantime
+    public void requeue(Pending pending) {
+        if (!queue.offer(pending)) {
+            count(pending.type(), "dropped");
+        }
+    }
+
+    public void delivered(Pending pending) {
+        count(pending.type(), "delivered");
+    }
+
+    // SMTP refused the entry for good (unknown recipient, rejected content); it is not retried
+    public void rejected(Pending pending) {
+        count(pending.type(), "rejected");
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    private void count(String type, String outcome) {
+        meterRegistry.counter("mail.outbox", "type", type, "outcome", outcome).increment();
+    }
+
+    public record Pending(String type, MimeMessage message, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.auth.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Write-behind "last seen" per member. Authenticated requests only overwrite an entry in memory, so
+// a member making hundreds of calls between flushes still costs one UPDATE. Each flush takes at most
+// maxFlushSize members; the rest wait for the next run. The guard on the UPDATE keeps a node with
+// older timestamps from moving the column backwards when several nodes flush the same member.
+@Slf4j
+@Component
+public class MemberActivityTracker implements DisposableBean {
+
+    private static final String UPDATE_LAST_ACTIVE =
+            "UPDATE members SET last_active_at = ? WHERE member_id = ? " +
+                    "AND (last_active_at IS NULL OR last_active_at < ?)";
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer flushTimer;
+    private final int maxFlushSize;
+
+    public MemberActivityTracker(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.member-activity.max-flush-size}") int maxFlushSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxFlushSize = maxFlushSize;
+        this.flushTimer = meterRegistry.timer("member.activity.flush");
+        Gauge.builder("member.activity.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void record(String memberId) {
+        pending.put(memberId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${application.member-activity.flush-interval-ms}")
+    public void flush() {
+        flushTimer.record(() -> {
+            flush(maxFlushSize);
+        });
+    }
+
+    // Final flush so activity since the last run is not lost on a clean shutdown
+    @Override
+    public void destroy() {
+        int flushed;
+        do {
+            flushed = flush(maxFlushSize);
+        } while (flushed == maxFlushSize);
+    }
+
+    private synchronized int flush(int limit) {
+        List<Object[]> batch = new ArrayList<>(Math.min(limit, pending.size()));
+        Iterator<String> memberIds = pending.keySet().iterator();
+        while (batch.size() < limit && memberIds.hasNext()) {
+            String memberId = memberIds.next();
+            // remove() hands over the latest value; activity recorded after this lands in the next flush
+            LocalDateTime lastActive = pending.remove(memberId);
+            if (lastActive != null) {
+                Timestamp at = Timestamp.valueOf(lastActive);
+                batch.add(new Object[]{at, memberId, at});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_ACTIVE, batch);
+            meterRegistry.counter("member.activity.flushed").increment(batch.size());
+        } catch (RuntimeException e) {
+            // Last-seen is analytics data; losing one interval beats retrying against a struggling database
+            log.warn("Dropped last-active timestamps for {} members: {}", batch.size(), e.getMessage());
+            meterRegistry.counter("member.activity.dropped").increment(batch.size());
+        }
+        return batch.size();
+    }
+}
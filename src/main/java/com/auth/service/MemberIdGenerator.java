@@ -1,34 +1,61 @@
 package com.auth.service;
 
+import com.auth.jfr.MemberIdGenerationEvent;
+import com.auth.repository.MemberIdSequenceStore;
 import com.auth.repository.MemberRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class MemberIdGenerator {
     
     private final MemberRepository memberRepository;
+    private final MemberIdSequenceStore memberIdSequenceStore;
     
     public String generateMemberId(String fullName, LocalDate dob) {
-        // Extract first initial
+        MemberIdGenerationEvent event = new MemberIdGenerationEvent();
+        event.begin();
+        try {
+            String prefix = prefixFor(fullName, dob);
+            event.prefix = prefix;
+            String memberId = formatMemberId(prefix, allocateSequence(prefix, 1));
+            event.memberId = memberId;
+            event.outcome = "success";
+            return memberId;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    // Builds the "<first initial><last two digits of birth year>" prefix shared by all IDs of a cohort;
+    // the digits are zero-padded, so a year such as 2005 or 905 still yields two of them
+    public String prefixFor(String fullName, LocalDate dob) {
         String firstInitial = fullName.substring(0, 1).toUpperCase();
-        
-        // Extract last two digits of birth year
-        String yearDigits = String.valueOf(dob.getYear()).substring(2);
-        
-        // Find the highest sequential ID for this combination
-        String prefix = firstInitial + yearDigits;
-        Optional<String> highestId = memberRepository.findHighestMemberIdByPrefix(prefix);
-        
-        int sequentialId = highestId
-                .map(id -> Integer.parseInt(id.substring(3)) + 1)
-                .orElse(1);
-        
+        return String.format("%s%02d", firstInitial, Math.floorMod(dob.getYear(), 100));
+    }
+
+    // Reserves a contiguous block of sequence numbers for the prefix and returns the first one,
+    // so bulk callers pay a single round trip per prefix instead of one per member
+    public int allocateSequence(String prefix, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        return memberIdSequenceStore.reserve(prefix, blockSize, () -> memberRepository
+                .findHighestMemberIdByPrefix(prefix)
+                .map(id -> Integer.parseInt(id.substring(prefix.length())) + 1)
+                .orElse(1));
+    }
+
+    public String formatMemberId(String prefix, int sequentialId) {
         // Format sequential ID with leading zeros
         return String.format("%s%02d", prefix, sequentialId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+package com.auth.service;
+
+import com.auth.dto.BulkImportRowError;
+import com.auth.dto.MemberImportRow;
+import com.auth.exception.InvalidImportFileException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class MemberImportParser {
+
+    public enum Format { CSV, NDJSON }
+
+    // Member ID prefixes take the last two digits of the birth year; older dates are typos, not members
+    static final LocalDate EARLIEST_DOB = LocalDate.of(1900, 1, 1);
+
+    private final ObjectMapper objectMapper;
+
+    // Reads and checks the CSV header right away so a malformed file is rejected before a job is queued;
+    // rows are then pulled in batches with RowReader.read
+    public RowReader open(InputStream input, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try {
+            return new RowReader(reader, format, format == Format.CSV ? readCsvHeader(reader) : null);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return columns;
+        }
+        List<String> headers = splitCsvLine(headerLine);
+        for (int i = 0; i < headers.size(); i++) {
+            columns.put(headers.get(i).replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("fullname", "email", "dob")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidImportFileException("CSV header is missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private void parseCsvLine(String line, int rowNumber, Map<String, Integer> columns,
+                              List<MemberImportRow> rows, List<BulkImportRowError> errors) {
+        List<String> values = splitCsvLine(line);
+        String email = column(values, columns, "email");
+        try {
+            String dob = column(values, columns, "dob");
+            accept(MemberImportRow.builder()
+                    .rowNumber(rowNumber)
+                    .fullName(column(values, columns, "fullname"))
+                    .email(email)
+                    .contact(column(values, columns, "contact"))
+                    .dob(dob == null ? null : LocalDate.parse(dob))
+                    .build(), rows, errors);
+        } catch (DateTimeParseException e) {
+            errors.add(new BulkImportRowError(rowNumber, email, "Invalid date of birth, expected yyyy-MM-dd"));
+        }
+    }
+
+    private void parseNdjsonLine(String line, int rowNumber,
+                                 List<MemberImportRow> rows, List<BulkImportRowError> errors) {
+        try {
+            MemberImportRow row = objectMapper.readValue(line, MemberImportRow.class);
+            row.setRowNumber(rowNumber);
+            accept(row, rows, errors);
+        } catch (IOException e) {
+            errors.add(new BulkImportRowError(rowNumber, null, "Malformed JSON row"));
+        }
+    }
+
+    private void accept(MemberImportRow row, List<MemberImportRow> rows, List<BulkImportRowError> errors) {
+        if (row.getDob() != null && row.getDob().isBefore(EARLIEST_DOB)) {
+            errors.add(new BulkImportRowError(row.getRowNumber(), row.getEmail(),
+                    "Date of birth must be on or after " + EARLIEST_DOB));
+            return;
+        }
+        rows.add(row);
+    }
+
+    private String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Minimal RFC 4180 splitter: handles quoted fields, embedded commas and doubled quotes
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    public final class RowReader implements Closeable {
+
+        private final BufferedReader reader;
+        private final Format format;
+        private final Map<String, Integer> columns;
+        // Physical line number; the CSV header is line 1
+        private int rowNumber;
+
+        private RowReader(BufferedReader reader, Format format, Map<String, Integer> columns) {
+            this.reader = reader;
+            this.format = format;
+            this.columns = columns;
+            this.rowNumber = format == Format.CSV ? 1 : 0;
+        }
+
+        // Parses up to maxRows non-blank lines into rows, or errors for lines that cannot be parsed.
+        // Returns false once the input is exhausted.
+        public boolean read(int maxRows, List<MemberImportRow> rows, List<BulkImportRowError> errors)
+                throws IOException {
+            if (format == Format.CSV && columns.isEmpty()) {
+                return false;
+            }
+            int read = 0;
+            String line;
+            while (read < maxRows && (line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV) {
+                    parseCsvLine(line, rowNumber, columns, rows, errors);
+                } else {
+                    parseNdjsonLine(line, rowNumber, rows, errors);
+                }
+                read++;
+            }
+            return read == maxRows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.auth.service;
+
+import com.auth.repository.MemberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+// Email to member ID lookups for the auth endpoints. Members are never deleted and emails never change,
+// so found entries only age out by size. Unknown emails are cached briefly: a member created on another
+// instance is invisible here until the negative entry expires.
+@Component
+public class MemberLookupCache {
+
+    private final MemberRepository memberRepository;
+    private final Cache<String, String> members;
+    private final Cache<String, Boolean> unknownEmails;
+
+    public MemberLookupCache(
+            MemberRepository memberRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.member-lookup.maximum-size}") long maximumSize,
+            @Value("${application.member-lookup.negative-maximum-size}") long negativeMaximumSize,
+            @Value("${application.member-lookup.negative-ttl-seconds}") long negativeTtlSeconds
+    ) {
+        this.memberRepository = memberRepository;
+        this.members = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "member.lookup");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownEmails, "member.lookup.unknown");
+    }
+
+    public Optional<String> findMemberId(String email) {
+        String key = key(email);
+        String memberId = members.getIfPresent(key);
+        if (memberId != null) {
+            return Optional.of(memberId);
+        }
+        if (unknownEmails.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+
+        Optional<String> found = memberRepository.findMemberIdByEmail(email);
+        found.ifPresentOrElse(id -> members.put(key, id), () -> unknownEmails.put(key, Boolean.TRUE));
+        return found;
+    }
+
+    // Called inside the creating transaction; the entry is only published once the member is committed
+    public void memberCreated(String email, String memberId) {
+        String key = key(email);
+        unknownEmails.invalidate(key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            members.put(key, memberId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                unknownEmails.invalidate(key);
+                members.put(key, memberId);
+            }
+        });
+    }
+
+    public void invalidate(String email) {
+        String key = key(email);
+        members.invalidate(key);
+        unknownEmails.invalidate(key);
+    }
+
+    // MySQL compares emails case-insensitively, so the cache does too
+    private static String key(String email) {
+        return normalizeEmail(email);
+    }
+
+    // The form emails are stored in, shared by registration and bulk import so both write the same value
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+}
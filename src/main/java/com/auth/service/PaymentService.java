@@ -1,39 +1,66 @@
 package com.auth.service;
 
+import com.auth.concurrency.SingleFlight;
+import com.auth.datasource.ShardedByMember;
 import com.auth.dto.PaymentRequest;
 import com.auth.dto.PaymentResponse;
-import com.auth.exception.ResourceNotFoundException;
+import com.auth.dto.SparseFieldset;
+import com.auth.model.CardType;
 import com.auth.model.Payment;
+import com.auth.model.PaymentType;
 import com.auth.repository.PaymentRepository;
+import com.auth.repository.SparseFieldRepository;
 import com.auth.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
+@ShardedByMember
 public class PaymentService {
 
+    private static final SparseFieldset<PaymentResponse> FIELDS =
+            new SparseFieldset<PaymentResponse>(PaymentResponse::new)
+                    .property("paymentType", "paymentType", (r, v) -> r.setPaymentType((PaymentType) v))
+                    .property("maskedCardNumber", "cardNumber",
+                            (r, v) -> r.setMaskedCardNumber(maskCardNumber((String) v)))
+                    .property("upiId", "upiId", (r, v) -> r.setUpiId((String) v))
+                    .property("nameOnCard", "nameOnCard", (r, v) -> r.setNameOnCard((String) v))
+                    .property("expiryDate", "expiryDate", (r, v) -> r.setExpiryDate((LocalDate) v))
+                    .property("cardType", "cardType", (r, v) -> r.setCardType((CardType) v));
+
     private final PaymentRepository paymentRepository;
     private final SecurityUtils securityUtils;
+    private final SparseFieldRepository sparseFieldRepository;
 
+    @SingleFlight("payments")
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getCurrentUserPayments() {
+    public List<PaymentResponse> getCurrentUserPayments(Set<String> fields) {
         String memberId = securityUtils.getCurrentUserId();
-        List<Payment> payments = paymentRepository.findByMemberId(memberId);
-        
-        if (payments.isEmpty()) {
-            throw new ResourceNotFoundException("No payment methods found for the user");
+        if (SparseFieldset.isRequested(fields)) {
+            return sparseFieldRepository
+                    .findByMemberId(Payment.class, memberId, FIELDS.attributes(fields), null)
+                    .stream()
+                    .map(FIELDS::toResponse)
+                    .collect(Collectors.toList());
         }
+
+        List<Payment> payments = paymentRepository.findByMemberId(memberId);
         
         return payments.stream()
                 .map(this::mapToPaymentResponse)
                 .collect(Collectors.toList());
     }
 
+    @SingleFlight(value = "payments", invalidates = true)
     @Transactional
     public PaymentResponse addPayment(PaymentRequest request) {
         String memberId = securityUtils.getCurrentUserId();
@@ -63,7 +90,7 @@ public class PaymentService {
                 .build();
     }
     
-    private String maskCardNumber(String cardNumber) {
+    private static String maskCardNumber(String cardNumber) {
         if (cardNumber == null) {
             return null;
         }
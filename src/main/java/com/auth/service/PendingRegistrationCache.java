@@ -0,0 +1,73 @@
+package com.auth.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the plaintext OTP of recently started registrations so a repeated register call inside the
+// cooldown can resend it instead of hashing and writing a new one. Entries are per instance; a miss
+// (other instance, restart, full cache) just falls back to issuing a fresh OTP.
+@Component
+@RequiredArgsConstructor
+public class PendingRegistrationCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, RecentOtp> entries = new ConcurrentHashMap<>();
+
+    @Value("${application.registration.resend-cooldown-seconds}")
+    private long cooldownSeconds;
+
+    // otpHash is the value written to email_verifications, used to detect a newer OTP issued elsewhere
+    public record RecentOtp(String otp, String otpHash, Instant issuedAt) {
+    }
+
+    public void remember(String email, String otp, String otpHash) {
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(email)) {
+            return;
+        }
+        entries.put(email, new RecentOtp(otp, otpHash, Instant.now()));
+    }
+
+    public Optional<RecentOtp> recent(String email) {
+        RecentOtp recent = entries.get(email);
+        if (recent == null) {
+            return Optional.empty();
+        }
+        if (isStale(recent, Instant.now())) {
+            entries.remove(email, recent);
+            return Optional.empty();
+        }
+        return Optional.of(recent);
+    }
+
+    public void recordReuse() {
+        meterRegistry.counter("registration.otp.reused").increment();
+    }
+
+    public void forget(String email) {
+        entries.remove(email);
+    }
+
+    // Per node, unlike the purge, since every instance holds its own entries
+    @Scheduled(fixedDelayString = "${application.registration.resend-cooldown-seconds}", timeUnit = TimeUnit.SECONDS)
+    public void evictStale() {
+        Instant now = Instant.now();
+        entries.values().removeIf(recent -> isStale(recent, now));
+    }
+
+    private boolean isStale(RecentOtp recent, Instant now) {
+        return recent.issuedAt().plus(Duration.ofSeconds(cooldownSeconds)).isBefore(now);
+    }
+}
@@ -0,0 +1,56 @@
+package com.auth.service;
+
+import com.auth.repository.EmailVerificationRepository;
+import com.auth.scheduling.JobLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+// Deletes abandoned registrations in small committed chunks so the purge never holds long locks
+// on email_verifications. Rows are kept for a grace period after expiry so verifyEmail can still
+// tell the user their OTP expired rather than that the registration does not exist.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrationPurgeService {
+
+    private final EmailVerificationRepository emailVerificationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.registration.purge.chunk-size}")
+    private int chunkSize;
+
+    @Value("${application.registration.purge.grace-minutes}")
+    private long graceMinutes;
+
+    @Scheduled(cron = "${application.registration.purge.cron}")
+    @JobLock(name = "registration-purge")
+    public void purgeExpired() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    emailVerificationRepository.deleteExpiredBefore(cutoff, chunkSize));
+            total += deleted;
+            meterRegistry.counter("registration.purge.chunks").increment();
+        } while (deleted == chunkSize);
+
+        meterRegistry.counter("registration.purge.deleted").increment(total);
+        sample.stop(meterRegistry.timer("registration.purge"));
+        if (total > 0) {
+            log.info("Purged {} expired registrations", total);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.auth.service;
+
+import com.auth.dto.SessionResponse;
+import com.auth.exception.ResourceNotFoundException;
+import com.auth.session.SessionRegistry;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed("service.method")
+public class SessionService {
+
+    private final SessionRegistry sessionRegistry;
+
+    public List<SessionResponse> getCurrentUserSessions(String currentSessionId) {
+        String memberId = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        return sessionRegistry.list(memberId).stream()
+                .map(session -> SessionResponse.builder()
+                        .sessionId(session.sessionId())
+                        .device(session.device())
+                        .issuedAt(session.issuedAt())
+                        .expiresAt(session.expiresAt())
+                        .current(session.sessionId().equals(currentSessionId))
+                        .build())
+                .toList();
+    }
+
+    public void revokeSession(String sessionId) {
+        String memberId = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        if (!sessionRegistry.revoke(memberId, sessionId)) {
+            throw ResourceNotFoundException.SESSION_NOT_FOUND;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.auth.service;
 
+import com.auth.jfr.TokenBlacklistCheckEvent;
 import com.auth.model.BlacklistedToken;
 import com.auth.repository.BlacklistedTokenRepository;
+import com.auth.scheduling.JobLock;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -11,6 +14,7 @@ import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class TokenBlacklistService {
 
     private final BlacklistedTokenRepository blacklistedTokenRepository;
@@ -24,12 +28,25 @@ public class TokenBlacklistService {
         blacklistedTokenRepository.save(blacklistedToken);
     }
 
-    @Transactional(readOnly = true)
+    // Not read-only on purpose: a logout must take effect immediately, so this never reads from a lagging replica
+    @Transactional
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokenRepository.findById(token).isPresent();
+        TokenBlacklistCheckEvent event = new TokenBlacklistCheckEvent();
+        event.begin();
+        try {
+            boolean blacklisted = blacklistedTokenRepository.findById(token).isPresent();
+            event.outcome = blacklisted ? "blacklisted" : "clear";
+            return blacklisted;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     @Scheduled(cron = "0 0 * * * *") // Run every hour
+    @JobLock(name = "token-blacklist-cleanup")
     @Transactional
     public void cleanupExpiredTokens() {
         blacklistedTokenRepository.deleteExpiredTokens();
@@ -1,18 +1,22 @@
 package com.auth.service;
 
+import com.auth.concurrency.SingleFlight;
 import com.auth.dto.UserProfileResponse;
 import com.auth.exception.ResourceNotFoundException;
 import com.auth.repository.MemberRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class UserService {
 
     private final MemberRepository memberRepository;
 
+    @SingleFlight("profile")
     public UserProfileResponse getCurrentUserProfile() {
         String memberId = SecurityContextHolder.getContext().getAuthentication().getName();
         
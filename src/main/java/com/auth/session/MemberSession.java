@@ -0,0 +1,7 @@
+package com.auth.session;
+
+import java.time.LocalDateTime;
+
+public record MemberSession(String sessionId, String memberId, String device,
+                            LocalDateTime issuedAt, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,212 @@
+package com.auth.session;
+
+import com.auth.scheduling.JobLock;
+import com.auth.security.JwtService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Logged-in sessions per member, held in memory so the per-request revocation check is one hash lookup.
+// New sessions and revocations are queued and written to member_sessions in one batch per snapshot; the
+// same snapshot pulls rows other nodes changed since the last one, so a revocation reaches every node
+// within one snapshot interval. Revoked IDs are remembered until their token would have expired anyway.
+@Slf4j
+@Component
+public class SessionRegistry implements SmartInitializingSingleton, DisposableBean {
+
+    public static final String SESSION_ID_ATTRIBUTE = "com.auth.session.SessionRegistry.sessionId";
+
+    // Tolerates clock differences between nodes writing updated_at; re-applying a row is harmless
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final Map<String, MemberSession> active = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> activeByMember = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>(); // session ID -> token expiry
+    private final Map<String, MemberSession> pendingInserts = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> pendingRevocations = new ConcurrentHashMap<>(); // -> revoked at
+    private final SessionStore store;
+    private final Duration tokenLifetime;
+    private LocalDateTime lastSync = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public SessionRegistry(SessionStore store, JwtService jwtService, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.tokenLifetime = Duration.ofMillis(jwtService.getExpirationMillis());
+        Gauge.builder("sessions.active", active, Map::size).register(meterRegistry);
+        Gauge.builder("sessions.revoked", revoked, Map::size).register(meterRegistry);
+    }
+
+    public MemberSession open(String memberId, String device) {
+        LocalDateTime now = LocalDateTime.now();
+        MemberSession session = new MemberSession(UUID.randomUUID().toString(), memberId, device,
+                now, now.plus(tokenLifetime));
+        addActive(session);
+        pendingInserts.put(session.sessionId(), session);
+        return session;
+    }
+
+    public List<MemberSession> list(String memberId) {
+        List<MemberSession> sessions = new ArrayList<>();
+        for (String sessionId : activeByMember.getOrDefault(memberId, Set.of())) {
+            MemberSession session = active.get(sessionId);
+            if (session != null) {
+                sessions.add(session);
+            }
+        }
+        sessions.sort(Comparator.comparing(MemberSession::issuedAt).reversed());
+        return sessions;
+    }
+
+    // Only the owning member can revoke a session; false if it is unknown, someone else's or already gone.
+    // A session another node opened since the last snapshot is not known here yet, so it is looked up and
+    // revoked in member_sessions directly rather than waiting for the next flush.
+    public boolean revoke(String memberId, String sessionId) {
+        MemberSession session = active.get(sessionId);
+        if (session == null) {
+            return revokeStored(memberId, sessionId);
+        }
+        if (!session.memberId().equals(memberId)) {
+            return false;
+        }
+        markRevoked(session);
+        pendingRevocations.put(sessionId, LocalDateTime.now());
+        return true;
+    }
+
+    public boolean isRevoked(String sessionId) {
+        return sessionId != null && revoked.containsKey(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${application.sessions.snapshot-interval-ms}")
+    public synchronized void snapshot() {
+        flushPending();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync.minusSeconds(SYNC_OVERLAP_SECONDS);
+        try {
+            store.changedSince(since, now, (session, isRevoked) -> {
+                if (isRevoked) {
+                    markRevoked(session);
+                } else if (!revoked.containsKey(session.sessionId())) {
+                    addActive(session);
+                }
+            });
+            lastSync = now;
+        } catch (RuntimeException e) {
+            log.warn("Could not load session changes from other nodes: {}", e.getMessage());
+        }
+
+        active.values().removeIf(session -> {
+            if (session.expiresAt().isAfter(now)) {
+                return false;
+            }
+            removeFromMember(session);
+            return true;
+        });
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    @Scheduled(cron = "${application.sessions.cleanup-cron}")
+    @JobLock(name = "member-session-cleanup")
+    public void deleteExpired() {
+        int deleted = store.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired sessions", deleted);
+    }
+
+    // Loads the sessions every node has written before the first request is served
+    @Override
+    public void afterSingletonsInstantiated() {
+        snapshot();
+    }
+
+    @Override
+    public void destroy() {
+        flushPending();
+    }
+
+    // Inserts go first so a session opened and revoked within one interval has a row to revoke
+    private synchronized void flushPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MemberSession> inserts = new ArrayList<>(pendingInserts.size());
+        for (String sessionId : new ArrayList<>(pendingInserts.keySet())) {
+            MemberSession session = pendingInserts.remove(sessionId);
+            if (session != null) {
+                inserts.add(session);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            try {
+                store.insert(inserts, now);
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} new sessions, retrying next snapshot: {}", inserts.size(), e.getMessage());
+                inserts.forEach(session -> pendingInserts.putIfAbsent(session.sessionId(), session));
+                return;
+            }
+        }
+
+        Map<String, LocalDateTime> revocations = new HashMap<>();
+        for (String sessionId : new ArrayList<>(pendingRevocations.keySet())) {
+            LocalDateTime revokedAt = pendingRevocations.remove(sessionId);
+            if (revokedAt != null) {
+                revocations.put(sessionId, revokedAt);
+            }
+        }
+        if (!revocations.isEmpty()) {
+            try {
+                store.revoke(revocations);
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} revocations, retrying next snapshot: {}", revocations.size(), e.getMessage());
+                revocations.forEach(pendingRevocations::putIfAbsent);
+            }
+        }
+    }
+
+    private boolean revokeStored(String memberId, String sessionId) {
+        if (revoked.containsKey(sessionId)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        MemberSession session = store.findActive(sessionId, now).orElse(null);
+        if (session == null || !session.memberId().equals(memberId) || !store.revoke(sessionId, now)) {
+            return false;
+        }
+        markRevoked(session);
+        return true;
+    }
+
+    private void addActive(MemberSession session) {
+        active.put(session.sessionId(), session);
+        activeByMember.compute(session.memberId(), (memberId, sessionIds) -> {
+            Set<String> ids = sessionIds == null ? ConcurrentHashMap.newKeySet() : sessionIds;
+            ids.add(session.sessionId());
+            return ids;
+        });
+    }
+
+    private void markRevoked(MemberSession session) {
+        revoked.put(session.sessionId(), session.expiresAt());
+        active.remove(session.sessionId());
+        removeFromMember(session);
+    }
+
+    private void removeFromMember(MemberSession session) {
+        activeByMember.computeIfPresent(session.memberId(), (memberId, sessionIds) -> {
+            sessionIds.remove(session.sessionId());
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.auth.session;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+// Durable copy of the session registry in member_sessions. Rows are only inserted and then stamped
+// with revoked_at; updated_at lets every node pick up what the others changed since its last sync.
+@Component
+@RequiredArgsConstructor
+public class SessionStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<MemberSession> sessions, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(sessions.size());
+        for (MemberSession session : sessions) {
+            rows.add(new Object[]{session.sessionId(), session.memberId(), session.device(),
+                    Timestamp.valueOf(session.issuedAt()), Timestamp.valueOf(session.expiresAt()),
+                    Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO member_sessions (session_id, member_id, device, issued_at, expires_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    public void revoke(Map<String, LocalDateTime> revokedAtBySession) {
+        List<Object[]> rows = new ArrayList<>(revokedAtBySession.size());
+        revokedAtBySession.forEach((sessionId, revokedAt) ->
+                rows.add(new Object[]{Timestamp.valueOf(revokedAt), Timestamp.valueOf(revokedAt), sessionId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE member_sessions SET revoked_at = ?, updated_at = ? WHERE session_id = ? AND revoked_at IS NULL",
+                rows);
+    }
+
+    // Stamps one session as revoked; false if it has no row yet or was already revoked, e.g. by another node
+    public boolean revoke(String sessionId, LocalDateTime revokedAt) {
+        return jdbcTemplate.update(
+                "UPDATE member_sessions SET revoked_at = ?, updated_at = ? WHERE session_id = ? AND revoked_at IS NULL",
+                Timestamp.valueOf(revokedAt), Timestamp.valueOf(revokedAt), sessionId) == 1;
+    }
+
+    // A session that is neither revoked nor expired, whichever node opened it
+    public Optional<MemberSession> findActive(String sessionId, LocalDateTime now) {
+        return jdbcTemplate.query(
+                "SELECT session_id, member_id, device, issued_at, expires_at FROM member_sessions " +
+                        "WHERE session_id = ? AND revoked_at IS NULL AND expires_at > ?",
+                (rs, rowNum) -> new MemberSession(
+                        rs.getString("session_id"),
+                        rs.getString("member_id"),
+                        rs.getString("device"),
+                        rs.getTimestamp("issued_at").toLocalDateTime(),
+                        rs.getTimestamp("expires_at").toLocalDateTime()),
+                sessionId, Timestamp.valueOf(now)).stream().findFirst();
+    }
+
+    // Calls back with each unexpired session changed since the given time and whether it is revoked
+    public void changedSince(LocalDateTime since, LocalDateTime now, BiConsumer<MemberSession, Boolean> consumer) {
+        jdbcTemplate.query(
+                "SELECT session_id, member_id, device, issued_at, expires_at, revoked_at FROM member_sessions " +
+                        "WHERE updated_at > ? AND expires_at > ?",
+                rs -> {
+                    consumer.accept(new MemberSession(
+                            rs.getString("session_id"),
+                            rs.getString("member_id"),
+                            rs.getString("device"),
+                            rs.getTimestamp("issued_at").toLocalDateTime(),
+                            rs.getTimestamp("expires_at").toLocalDateTime()
+                    ), rs.getTimestamp("revoked_at") != null);
+                },
+                Timestamp.valueOf(since), Timestamp.valueOf(now));
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM member_sessions WHERE expires_at <= ?", Timestamp.valueOf(now));
+    }
+}
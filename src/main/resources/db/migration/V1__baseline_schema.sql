@@ -0,0 +1,86 @@
+-- Schema as previously generated by ddl-auto; existing databases are baselined at this version
+
+CREATE TABLE members (
+    member_id       VARCHAR(255) NOT NULL,
+    full_name       VARCHAR(255),
+    email           VARCHAR(255),
+    contact         VARCHAR(255),
+    dob             DATE,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    otp             VARCHAR(255),
+    otp_expiry_time DATETIME(6),
+    PRIMARY KEY (member_id),
+    CONSTRAINT uk_members_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE email_verifications (
+    email           VARCHAR(255) NOT NULL,
+    full_name       VARCHAR(255),
+    contact         VARCHAR(255),
+    dob             DATE,
+    otp             VARCHAR(255),
+    otp_expiry_time DATETIME(6),
+    PRIMARY KEY (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE blacklisted_tokens (
+    token       VARCHAR(255) NOT NULL,
+    expiry_date DATETIME(6),
+    PRIMARY KEY (token)
+) ENGINE = InnoDB;
+
+CREATE TABLE payment (
+    member_id    VARCHAR(255) NOT NULL,
+    payment_type ENUM ('creditcard', 'debitcard', 'upi') NOT NULL,
+    card_number  VARCHAR(16),
+    upi_id       VARCHAR(50),
+    name_on_card VARCHAR(100),
+    expiry_date  DATE,
+    card_type    ENUM ('VISA', 'MasterCard', 'Rupay', 'Amex'),
+    PRIMARY KEY (member_id, payment_type),
+    CONSTRAINT fk_payment_member FOREIGN KEY (member_id) REFERENCES members (member_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE address (
+    address_label  VARCHAR(50)  NOT NULL,
+    member_id      VARCHAR(255) NOT NULL,
+    address_line_1 VARCHAR(255) NOT NULL,
+    address_line_2 VARCHAR(255),
+    city           VARCHAR(255) NOT NULL,
+    state          VARCHAR(255) NOT NULL,
+    zip_code       VARCHAR(10)  NOT NULL,
+    landmark       VARCHAR(255),
+    PRIMARY KEY (address_label, member_id),
+    CONSTRAINT fk_address_member FOREIGN KEY (member_id) REFERENCES members (member_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE dependents (
+    full_name             VARCHAR(100) NOT NULL,
+    member_id             VARCHAR(255) NOT NULL,
+    relation              VARCHAR(50)  NOT NULL,
+    dob                   DATE         NOT NULL,
+    mobile_number         VARCHAR(15),
+    email_address         VARCHAR(100),
+    emergency_sos_contact BIT,
+    PRIMARY KEY (full_name, member_id),
+    CONSTRAINT fk_dependents_member FOREIGN KEY (member_id) REFERENCES members (member_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE health_records (
+    member_id        VARCHAR(255) NOT NULL,
+    record_no        INTEGER      NOT NULL,
+    health_condition VARCHAR(100) NOT NULL,
+    description      TEXT,
+    PRIMARY KEY (member_id, record_no),
+    CONSTRAINT fk_health_records_member FOREIGN KEY (member_id) REFERENCES members (member_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE allergy_records (
+    member_id   VARCHAR(255) NOT NULL,
+    record_no   INTEGER      NOT NULL,
+    allergies   VARCHAR(100) NOT NULL,
+    description TEXT,
+    PRIMARY KEY (member_id, record_no),
+    CONSTRAINT fk_allergy_records_member FOREIGN KEY (member_id) REFERENCES members (member_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,16 @@
+-- Hourly cleanup jobs delete by expiry
+CREATE INDEX idx_blacklisted_tokens_expiry_date ON blacklisted_tokens (expiry_date);
+CREATE INDEX idx_email_verifications_otp_expiry_time ON email_verifications (otp_expiry_time);
+
+-- ddl-auto ordered these composite keys alphabetically, which put member_id second and turned
+-- findByMemberId into a scan. With member_id leading, the per-member lists read one key range.
+-- payment, health_records and allergy_records already lead with member_id; the record_no
+-- suffix serves ORDER BY record_no and MAX(record_no) straight from the primary key.
+ALTER TABLE address DROP PRIMARY KEY;
+ALTER TABLE address ADD PRIMARY KEY (member_id, address_label);
+
+ALTER TABLE dependents DROP PRIMARY KEY;
+ALTER TABLE dependents ADD PRIMARY KEY (member_id, full_name);
+
+-- findByEmail uses uk_members_email; findHighestMemberIdByPrefix is a LIKE 'prefix%' range on
+-- the members primary key and only sorts the IDs of a single prefix.
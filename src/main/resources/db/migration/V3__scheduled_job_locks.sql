@@ -0,0 +1,8 @@
+-- Leases for @JobLock scheduled jobs; one row per job name, reused across runs
+CREATE TABLE scheduled_job_locks (
+    name       VARCHAR(64)  NOT NULL,
+    locked_by  VARCHAR(255) NOT NULL,
+    locked_at  DATETIME(6)  NOT NULL,
+    lock_until DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
@@ -0,0 +1,4 @@
+-- Written in batches by MemberActivityTracker, never by JPA
+ALTER TABLE members ADD COLUMN last_active_at DATETIME(6) NULL;
+
+CREATE INDEX idx_members_last_active_at ON members (last_active_at);
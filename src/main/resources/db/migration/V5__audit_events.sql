@@ -0,0 +1,11 @@
+-- Append-only login audit trail written in batches by AuditLog
+CREATE TABLE audit_events (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    occurred_at DATETIME(6)  NOT NULL,
+    event_type  VARCHAR(32)  NOT NULL,
+    subject     VARCHAR(255),
+    detail      VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_audit_events_subject_occurred_at ON audit_events (subject, occurred_at);
@@ -0,0 +1,14 @@
+-- Snapshot of SessionRegistry; updated_at drives the incremental sync between nodes
+CREATE TABLE member_sessions (
+    session_id VARCHAR(36)  NOT NULL,
+    member_id  VARCHAR(255) NOT NULL,
+    device     VARCHAR(255),
+    issued_at  DATETIME(6)  NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    revoked_at DATETIME(6),
+    updated_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (session_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_member_sessions_updated_at ON member_sessions (updated_at);
+CREATE INDEX idx_member_sessions_expires_at ON member_sessions (expires_at);
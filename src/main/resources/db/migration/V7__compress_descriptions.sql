@@ -0,0 +1,4 @@
+-- Descriptions are written by CompressedTextConverter; existing rows keep their UTF-8 bytes and are
+-- read back as uncompressed text, so no data rewrite is needed
+ALTER TABLE health_records MODIFY COLUMN description BLOB;
+ALTER TABLE allergy_records MODIFY COLUMN description BLOB;
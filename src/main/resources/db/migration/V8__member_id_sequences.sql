@@ -0,0 +1,7 @@
+-- Next free member ID sequence per "<first initial><birth year digits>" prefix; see MemberIdSequenceStore.
+-- Rows are created on first use, seeded from the highest member ID already issued for the prefix.
+CREATE TABLE member_id_sequences (
+    prefix     VARCHAR(8) NOT NULL,
+    next_value INTEGER    NOT NULL,
+    PRIMARY KEY (prefix)
+) ENGINE = InnoDB;
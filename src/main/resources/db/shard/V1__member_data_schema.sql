@@ -0,0 +1,52 @@
+-- Member-owned tables on each shard. Members live on the global database, so there are no
+-- foreign keys here; keys lead with member_id as in db/migration/V2.
+
+CREATE TABLE payment (
+    member_id    VARCHAR(255) NOT NULL,
+    payment_type ENUM ('creditcard', 'debitcard', 'upi') NOT NULL,
+    card_number  VARCHAR(16),
+    upi_id       VARCHAR(50),
+    name_on_card VARCHAR(100),
+    expiry_date  DATE,
+    card_type    ENUM ('VISA', 'MasterCard', 'Rupay', 'Amex'),
+    PRIMARY KEY (member_id, payment_type)
+) ENGINE = InnoDB;
+
+CREATE TABLE address (
+    member_id      VARCHAR(255) NOT NULL,
+    address_label  VARCHAR(50)  NOT NULL,
+    address_line_1 VARCHAR(255) NOT NULL,
+    address_line_2 VARCHAR(255),
+    city           VARCHAR(255) NOT NULL,
+    state          VARCHAR(255) NOT NULL,
+    zip_code       VARCHAR(10)  NOT NULL,
+    landmark       VARCHAR(255),
+    PRIMARY KEY (member_id, address_label)
+) ENGINE = InnoDB;
+
+CREATE TABLE dependents (
+    member_id             VARCHAR(255) NOT NULL,
+    full_name             VARCHAR(100) NOT NULL,
+    relation              VARCHAR(50)  NOT NULL,
+    dob                   DATE         NOT NULL,
+    mobile_number         VARCHAR(15),
+    email_address         VARCHAR(100),
+    emergency_sos_contact BIT,
+    PRIMARY KEY (member_id, full_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE health_records (
+    member_id        VARCHAR(255) NOT NULL,
+    record_no        INTEGER      NOT NULL,
+    health_condition VARCHAR(100) NOT NULL,
+    description      TEXT,
+    PRIMARY KEY (member_id, record_no)
+) ENGINE = InnoDB;
+
+CREATE TABLE allergy_records (
+    member_id   VARCHAR(255) NOT NULL,
+    record_no   INTEGER      NOT NULL,
+    allergies   VARCHAR(100) NOT NULL,
+    description TEXT,
+    PRIMARY KEY (member_id, record_no)
+) ENGINE = InnoDB;
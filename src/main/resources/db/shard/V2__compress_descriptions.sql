@@ -0,0 +1,3 @@
+-- Same change as db/migration V7 for the member-data shards
+ALTER TABLE health_records MODIFY COLUMN description BLOB;
+ALTER TABLE allergy_records MODIFY COLUMN description BLOB;
@@ -0,0 +1,28 @@
+package com.auth.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+    @Test
+    void oversizedFieldsAreTruncatedToTheColumnWidth() throws Exception {
+        List<AuditEvent> written = new ArrayList<>();
+        AuditLog auditLog = new AuditLog(written::addAll, new SimpleMeterRegistry(), 16, 8, 60_000);
+
+        auditLog.record(AuditEventType.OTP_SEND_FAILED, "x".repeat(300) + "@example.com", "y".repeat(1000));
+        auditLog.record(AuditEventType.OTP_SENT, "member@example.com", null);
+        auditLog.destroy();
+
+        assertThat(written).hasSize(2);
+        assertThat(written.get(0).subject()).hasSize(AuditLog.MAX_FIELD_LENGTH);
+        assertThat(written.get(0).detail()).hasSize(AuditLog.MAX_FIELD_LENGTH);
+        assertThat(written.get(1).subject()).isEqualTo("member@example.com");
+        assertThat(written.get(1).detail()).isNull();
+    }
+}
@@ -0,0 +1,66 @@
+package com.auth.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 300;
+
+    private final CircuitBreaker breaker =
+            new CircuitBreaker("test", new SimpleMeterRegistry(), 4, 2, 0.5, 1000, OPEN_MILLIS, 2);
+
+    @Test
+    void callStartedBeforeOpeningIsNotCountedAsAProbe() throws Exception {
+        CircuitBreaker.Permit slowCall = breaker.tryAcquirePermission();
+        fail(2);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Thread.sleep(OPEN_MILLIS + 10);
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        // The old call finishing now says nothing about whether SMTP has recovered
+        breaker.onSuccess(slowCall, 1_000);
+        breaker.onSuccess(probe, 1_000);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess(breaker.tryAcquirePermission(), 1_000);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyTheConfiguredProbes() throws Exception {
+        fail(2);
+        Thread.sleep(OPEN_MILLIS + 10);
+
+        CircuitBreaker.Permit first = breaker.tryAcquirePermission();
+        CircuitBreaker.Permit second = breaker.tryAcquirePermission();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(breaker.tryAcquirePermission()).isNull();
+
+        breaker.releasePermission(second);
+        assertThat(breaker.tryAcquirePermission()).isNotNull();
+    }
+
+    @Test
+    void failedProbeReopens() throws Exception {
+        fail(2);
+        Thread.sleep(OPEN_MILLIS + 10);
+
+        breaker.onFailure(breaker.tryAcquirePermission());
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNull();
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onFailure(breaker.tryAcquirePermission());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.auth.concurrency;
+
+import com.auth.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Goes through the auto-proxy creator, as the application does, so advisor ordering is exercised
+class SingleFlightAspectTest {
+
+    private AnnotationConfigApplicationContext context;
+    private ProfileLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        loader = context.getBean(ProfileLoader.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void concurrentReadsForOneMemberShareOneLoad() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> loadAs("M1"));
+        assertThat(loader.awaitStarted()).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> loadAs("M1"));
+        awaitFollower();
+
+        loader.release();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("profile-1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("profile-1");
+        assertThat(loader.loads()).isEqualTo(1);
+    }
+
+    private String loadAs(String memberId) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(memberId, null, "USER"));
+        try {
+            return loader.load();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void awaitFollower() throws InterruptedException {
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("singleflight.calls").tag("role", "follower").counter() == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        SingleFlightAspect singleFlightAspect(MeterRegistry meterRegistry) {
+            return new SingleFlightAspect(new SecurityUtils(), meterRegistry);
+        }
+
+        @Bean
+        ProfileLoader profileLoader() {
+            return new ProfileLoader();
+        }
+    }
+
+    // Fields are read through methods: the test holds the class-based proxy, not the target
+    static class ProfileLoader {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @SingleFlight("profile")
+        public String load() {
+            int load = loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "profile-" + load;
+        }
+
+        public boolean awaitStarted() throws InterruptedException {
+            return started.await(5, TimeUnit.SECONDS);
+        }
+
+        public void release() {
+            release.countDown();
+        }
+
+        public int loads() {
+            return loads.get();
+        }
+    }
+}
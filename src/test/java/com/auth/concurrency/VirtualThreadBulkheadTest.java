@@ -0,0 +1,70 @@
+package com.auth.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadBulkheadTest {
+
+    @Test
+    void runsUpToTheLimitOnVirtualThreadsAndRejectsTheRest() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        try (VirtualThreadBulkhead bulkhead =
+                     new VirtualThreadBulkhead("test", 3, task -> task, rejected::incrementAndGet)) {
+            for (int i = 0; i < 3; i++) {
+                bulkhead.execute(() -> {
+                    assertThat(Thread.currentThread().isVirtual()).isTrue();
+                    started.countDown();
+                    await(release);
+                });
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> bulkhead.execute(() -> { })).isInstanceOf(TaskRejectedException.class);
+            assertThat(rejected).hasValue(1);
+            assertThat(bulkhead.getInFlight()).isEqualTo(3);
+
+            release.countDown();
+            CountDownLatch admitted = new CountDownLatch(1);
+            awaitInFlight(bulkhead, 0);
+            bulkhead.execute(admitted::countDown);
+            assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void decoratesEachTask() throws Exception {
+        CountDownLatch ran = new CountDownLatch(2);
+        try (VirtualThreadBulkhead bulkhead = new VirtualThreadBulkhead("test", 1, task -> () -> {
+            ran.countDown();
+            task.run();
+        }, () -> { })) {
+            bulkhead.execute(ran::countDown);
+            assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static void awaitInFlight(VirtualThreadBulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getInFlight() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(bulkhead.getInFlight()).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
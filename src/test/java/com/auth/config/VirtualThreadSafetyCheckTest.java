@@ -0,0 +1,38 @@
+package com.auth.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadSafetyCheckTest {
+
+    @AfterEach
+    void restoreDefaultStrategy() {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_THREADLOCAL);
+    }
+
+    @Test
+    void threadLocalStrategyPasses() throws Exception {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_THREADLOCAL);
+
+        assertThat(VirtualThreadSafetyCheck.probe(SecurityContextHolder.getContextHolderStrategy())).isNull();
+    }
+
+    @Test
+    void inheritableStrategyIsRejected() throws Exception {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_INHERITABLETHREADLOCAL);
+
+        assertThat(VirtualThreadSafetyCheck.probe(SecurityContextHolder.getContextHolderStrategy()))
+                .contains("shares the context");
+    }
+
+    @Test
+    void globalStrategyIsRejected() throws Exception {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+
+        assertThat(VirtualThreadSafetyCheck.probe(SecurityContextHolder.getContextHolderStrategy()))
+                .contains("shares the context");
+    }
+}
@@ -0,0 +1,122 @@
+package com.auth.config;
+
+import com.auth.concurrency.VirtualThreadBulkhead;
+import com.auth.monitoring.RequestContextTaskDecorator;
+import com.auth.repository.MemberIdSequenceStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A real @Transactional call (MemberIdSequenceStore.reserve) made from many virtual threads at once, the
+// way virtual-thread mode runs bulkhead work: the transaction is bound to the calling virtual thread for
+// the length of the call, and nothing is left bound to it afterwards
+class VirtualThreadTransactionTest {
+
+    private static final int CALLS = 50;
+
+    private AnnotationConfigApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TransactionConfig.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void transactionStateIsBoundDuringTheCallAndClearedAfterIt() throws Exception {
+        MemberIdSequenceStore store = context.getBean(MemberIdSequenceStore.class);
+        DataSource dataSource = context.getBean(DataSource.class);
+        Map<Integer, List<Object>> during = new ConcurrentHashMap<>();
+        Map<Integer, List<Object>> after = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(CALLS);
+
+        try (VirtualThreadBulkhead bulkhead =
+                     new VirtualThreadBulkhead("test", CALLS, new RequestContextTaskDecorator(), () -> { })) {
+            for (int i = 0; i < CALLS; i++) {
+                int call = i;
+                bulkhead.execute(() -> {
+                    try {
+                        // Each prefix is new, so reserve seeds it and calls back from inside its transaction
+                        store.reserve("P" + call, 1, () -> {
+                            during.put(call, List.of(
+                                    Thread.currentThread().isVirtual(),
+                                    TransactionSynchronizationManager.isActualTransactionActive(),
+                                    TransactionSynchronizationManager.isSynchronizationActive(),
+                                    TransactionSynchronizationManager.hasResource(dataSource)));
+                            return 1;
+                        });
+                        after.put(call, List.of(
+                                TransactionSynchronizationManager.isActualTransactionActive(),
+                                TransactionSynchronizationManager.isSynchronizationActive(),
+                                TransactionSynchronizationManager.getResourceMap().isEmpty()));
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(during).hasSize(CALLS);
+        assertThat(during.values()).allSatisfy(state -> assertThat(state).containsOnly(true));
+        assertThat(after).hasSize(CALLS);
+        assertThat(after.values()).allSatisfy(state -> assertThat(state).containsExactly(false, false, true));
+        assertThat(context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT COUNT(*) FROM member_id_sequences", Integer.class)).isEqualTo(CALLS);
+    }
+
+    @Configuration
+    @EnableTransactionManagement(proxyTargetClass = true)
+    static class TransactionConfig {
+
+        @Bean
+        DataSource dataSource() {
+            DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:virtual-tx-"
+                    + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                    "sa", "");
+            new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__member_id_sequences.sql"))
+                    .execute(dataSource);
+            return dataSource;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        MemberIdSequenceStore memberIdSequenceStore(JdbcTemplate jdbcTemplate) {
+            return new MemberIdSequenceStore(jdbcTemplate);
+        }
+    }
+}
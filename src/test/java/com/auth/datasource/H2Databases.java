@@ -0,0 +1,33 @@
+package com.auth.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Separate in-memory H2 databases in MySQL mode; shards() migrates each with db/shard
+final class H2Databases {
+
+    private H2Databases() {
+    }
+
+    static DataSource database(String name) {
+        return new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+
+    static Map<String, DataSource> shards(List<String> names) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            DataSource shard = database(name);
+            Flyway.configure().dataSource(shard).locations("classpath:db/shard").load().migrate();
+            shards.put(name, shard);
+        }
+        return shards;
+    }
+}
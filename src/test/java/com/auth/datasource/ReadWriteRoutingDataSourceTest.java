@@ -0,0 +1,122 @@
+package com.auth.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replica are separate in-memory databases, each with a row naming itself
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = H2Databases.database("primary");
+        DataSource replicaDataSource = H2Databases.database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate database : new JdbcTemplate[] {primary, replica}) {
+            database.execute("CREATE TABLE origin (name VARCHAR(20))");
+            database.execute("CREATE TABLE notes (member_id VARCHAR(20), note VARCHAR(100))");
+        }
+        primary.update("INSERT INTO origin VALUES ('primary')");
+        replica.update("INSERT INTO origin VALUES ('replica')");
+        replica.execute("CREATE TABLE replica_status (lag_seconds BIGINT)");
+        replica.update("INSERT INTO replica_status VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replicaDataSource, "SELECT lag_seconds FROM replica_status", "lag_seconds", 5);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, lagMonitor, Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        routed = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        assertThat(readOnlyOrigin()).isEqualTo("replica");
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        readWrite.executeWithoutResult(status -> {
+            assertThat(routed.queryForObject("SELECT name FROM origin", String.class)).isEqualTo("primary");
+            routed.update("INSERT INTO notes VALUES ('M1', 'written')");
+        });
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM notes", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM notes", Integer.class)).isZero();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimaryUntilItCatchesUp() {
+        replica.update("UPDATE replica_status SET lag_seconds = 60");
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(readOnlyOrigin()).isEqualTo("primary");
+
+        replica.update("UPDATE replica_status SET lag_seconds = 2");
+        lagMonitor.check();
+        assertThat(readOnlyOrigin()).isEqualTo("replica");
+    }
+
+    @Test
+    void stoppedOrUnreachableReplicaFallsBackToThePrimary() {
+        replica.update("UPDATE replica_status SET lag_seconds = NULL");
+        lagMonitor.check();
+        assertThat(readOnlyOrigin()).isEqualTo("primary");
+
+        replica.execute("DROP TABLE replica_status");
+        lagMonitor.check();
+        assertThat(lagMonitor.getLastLagSeconds()).isEqualTo(-1);
+        assertThat(readOnlyOrigin()).isEqualTo("primary");
+    }
+
+    @Test
+    void memberWhoJustWroteReadsTheirOwnWritesFromThePrimary() {
+        authenticateAs("M1");
+        readWrite.executeWithoutResult(status -> routed.update("INSERT INTO notes VALUES ('M1', 'new')"));
+
+        assertThat(readOnlyOrigin()).isEqualTo("primary");
+        Integer ownNotes = readOnly.execute(status ->
+                routed.queryForObject("SELECT COUNT(*) FROM notes WHERE member_id = 'M1'", Integer.class));
+        assertThat(ownNotes).isEqualTo(1);
+
+        authenticateAs("M2");
+        assertThat(readOnlyOrigin()).isEqualTo("replica");
+    }
+
+    private String readOnlyOrigin() {
+        return readOnly.execute(status -> routed.queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static void authenticateAs(String memberId) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(memberId, null, "USER"));
+    }
+}
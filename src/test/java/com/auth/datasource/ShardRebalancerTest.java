@@ -0,0 +1,111 @@
+package com.auth.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRebalancerTest {
+
+    private static final int MEMBERS = 300;
+
+    private Map<String, DataSource> shards;
+    private ConsistentHashRing grownRing;
+
+    @BeforeEach
+    void setUp() {
+        shards = H2Databases.shards(List.of("shard-0", "shard-1", "shard-2"));
+        ConsistentHashRing originalRing = new ConsistentHashRing(List.of("shard-0", "shard-1"), 128);
+        grownRing = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        for (int i = 0; i < MEMBERS; i++) {
+            String memberId = memberId(i);
+            JdbcTemplate jdbc = jdbc(originalRing.shardFor(memberId));
+            jdbc.update("INSERT INTO health_records (member_id, record_no, health_condition) VALUES (?, 1, ?)",
+                    memberId, "Condition " + i);
+            jdbc.update("INSERT INTO payment (member_id, payment_type, upi_id) VALUES (?, 'upi', ?)",
+                    memberId, "member" + i + "@upi");
+        }
+    }
+
+    @Test
+    void movesEveryRowToTheShardTheRingNowAssigns() {
+        int moved = new ShardRebalancer(grownRing, shards, 7).rebalance(false);
+
+        assertThat(moved).isPositive();
+        for (int i = 0; i < MEMBERS; i++) {
+            String memberId = memberId(i);
+            String owner = grownRing.shardFor(memberId);
+            for (String shard : shards.keySet()) {
+                int expected = shard.equals(owner) ? 1 : 0;
+                assertThat(count(shard, "health_records", memberId)).as("%s on %s", memberId, shard).isEqualTo(expected);
+                assertThat(count(shard, "payment", memberId)).as("%s on %s", memberId, shard).isEqualTo(expected);
+            }
+        }
+        assertThat(new ShardRebalancer(grownRing, shards, 7).rebalance(false)).isZero();
+    }
+
+    @Test
+    void dryRunLeavesEveryShardUntouched() {
+        int before = total("health_records");
+
+        int wouldMove = new ShardRebalancer(grownRing, shards, 7).rebalance(true);
+
+        assertThat(wouldMove).isPositive();
+        assertThat(total("health_records")).isEqualTo(before);
+        assertThat(jdbc("shard-2").queryForObject("SELECT COUNT(*) FROM health_records", Integer.class)).isZero();
+    }
+
+    @Test
+    void keepsRowsAlreadyOnTheTargetAndOverwritesPartialCopies() {
+        String moving = firstMemberOwnedBy("shard-2");
+        String source = shards.keySet().stream()
+                .filter(shard -> count(shard, "health_records", moving) == 1)
+                .findFirst().orElseThrow();
+        // A stale copy left by an interrupted run, and a row written for a member the target already owns
+        jdbc("shard-2").update("INSERT INTO health_records (member_id, record_no, health_condition) VALUES (?, 1, ?)",
+                moving, "stale copy");
+        jdbc("shard-2").update("INSERT INTO health_records (member_id, record_no, health_condition) VALUES (?, 2, ?)",
+                moving, "written on the target");
+
+        new ShardRebalancer(grownRing, shards, 7).rebalance(false);
+
+        assertThat(count(source, "health_records", moving)).isZero();
+        assertThat(jdbc("shard-2").queryForList(
+                "SELECT health_condition FROM health_records WHERE member_id = ? ORDER BY record_no",
+                String.class, moving))
+                .containsExactly("Condition " + Integer.parseInt(moving.substring(1)), "written on the target");
+    }
+
+    private String firstMemberOwnedBy(String shard) {
+        for (int i = 0; i < MEMBERS; i++) {
+            if (grownRing.shardFor(memberId(i)).equals(shard)) {
+                return memberId(i);
+            }
+        }
+        throw new IllegalStateException("No member maps to " + shard);
+    }
+
+    private int count(String shard, String table, String memberId) {
+        return jdbc(shard).queryForObject("SELECT COUNT(*) FROM " + table + " WHERE member_id = ?",
+                Integer.class, memberId);
+    }
+
+    private int total(String table) {
+        return shards.keySet().stream()
+                .mapToInt(shard -> jdbc(shard).queryForObject("SELECT COUNT(*) FROM " + table, Integer.class))
+                .sum();
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(shards.get(shard));
+    }
+
+    private static String memberId(int i) {
+        return "M" + i;
+    }
+}
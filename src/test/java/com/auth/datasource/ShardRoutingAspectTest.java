@@ -0,0 +1,75 @@
+package com.auth.datasource;
+
+import com.auth.security.SecurityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRoutingAspectTest {
+
+    private Map<String, DataSource> shards;
+    private ConsistentHashRing ring;
+    private HealthRecordWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        shards = H2Databases.shards(List.of("shard-0", "shard-1", "shard-2"));
+        ring = new ConsistentHashRing(shards.keySet(), 128);
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(H2Databases.database("global"), shards);
+        routing.afterPropertiesSet();
+
+        AspectJProxyFactory proxyFactory =
+                new AspectJProxyFactory(new HealthRecordWriter(new LazyConnectionDataSourceProxy(routing)));
+        proxyFactory.addAspect(new ShardRoutingAspect(ring, new SecurityUtils()));
+        writer = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesLandOnTheShardOfTheAuthenticatedMember() {
+        for (int i = 0; i < 50; i++) {
+            String memberId = "M" + i;
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(memberId, null, "USER"));
+
+            writer.add(memberId);
+
+            for (Map.Entry<String, DataSource> shard : shards.entrySet()) {
+                Integer rows = new JdbcTemplate(shard.getValue()).queryForObject(
+                        "SELECT COUNT(*) FROM health_records WHERE member_id = ?", Integer.class, memberId);
+                assertThat(rows).as("%s on %s", memberId, shard.getKey())
+                        .isEqualTo(shard.getKey().equals(ring.shardFor(memberId)) ? 1 : 0);
+            }
+        }
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @ShardedByMember
+    static class HealthRecordWriter {
+
+        private final JdbcTemplate jdbc;
+
+        HealthRecordWriter(DataSource dataSource) {
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        public void add(String memberId) {
+            jdbc.update("INSERT INTO health_records (member_id, record_no, health_condition) VALUES (?, 1, 'x')",
+                    memberId);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.auth.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 100, 0.2, 1.5, 20);
+
+        saturate(limiter, 5 * MILLIS, 200);
+        int grown = limiter.getLimit();
+        // Briefly: given long enough, the baseline adopts the new latency and the limit grows back
+        saturate(limiter, 50 * MILLIS, 5);
+
+        assertThat(grown).isGreaterThan(20);
+        assertThat(limiter.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void idleCapacityDoesNotGrowTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 100, 0.2, 1.5, 20);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(5 * MILLIS);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void concurrentReleasesKeepInFlightAccurate() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 4, 100, 0.2, 1.5, 20);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 16; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (limiter.tryAcquire()) {
+                            limiter.release(MILLIS);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isBetween(4, 100);
+    }
+
+    // Fills the limit, then completes every request with the same latency, `rounds` times over
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.auth.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"line1\":\"1 Main St\",\"city\":\"Springfield\"}";
+    private static final int MAX_BODY_BYTES = 1024;
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), true, 100, 60, MAX_BODY_BYTES);
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("M0001", null, "ROLE_USER"));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryWithTheSameBodyIsReplayed() throws Exception {
+        MockHttpServletResponse first = send(BODY, readAll());
+        MockHttpServletResponse retry = send(BODY, readAll());
+
+        assertThat(handled).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    // Jackson stops at the closing brace; the stored hash must still cover the whole body
+    @Test
+    void retryIsReplayedWhenTheHandlerLeftPartOfTheBodyUnread() throws Exception {
+        String body = BODY + "\n\n";
+        FilterChain readsJsonOnly = (request, response) -> {
+            request.getInputStream().readNBytes(BODY.length());
+            created(response);
+        };
+
+        send(body, readsJsonOnly);
+        MockHttpServletResponse retry = send(body, readsJsonOnly);
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void handlerReadsTheFullBody() throws Exception {
+        StringBuilder seen = new StringBuilder();
+        send(BODY, (request, response) -> {
+            seen.append(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            created(response);
+        });
+
+        assertThat(seen.toString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void retryWithADifferentBodyIsRejected() throws Exception {
+        send(BODY, readAll());
+        MockHttpServletResponse retry = send(BODY.replace("Springfield", "Shelbyville"), readAll());
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(422);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void bodyOverTheLimitIsRejectedWithoutRunningTheHandler() throws Exception {
+        MockHttpServletResponse response = send("x".repeat(MAX_BODY_BYTES + 1), readAll());
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(handled).hasValue(0);
+    }
+
+    @Test
+    void bodyOverTheLimitWithoutAContentLengthIsRejected() throws Exception {
+        // Chunked: the size is only known by reading
+        MockHttpServletRequest unsized = new MockHttpServletRequest("POST", "/api/v1/users/addresses") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        unsized.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        unsized.setContent("x".repeat(MAX_BODY_BYTES + 1).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(unsized, response, readAll());
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(handled).hasValue(0);
+    }
+
+    // Production handlers return a CompletableFuture: the first dispatch only starts async processing,
+    // and the response is written and stored in the ASYNC dispatch that follows
+    @Test
+    void responseFinishedInAnAsyncDispatchIsStoredAndReplayed() throws Exception {
+        MockHttpServletRequest request = request(BODY);
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        DeferredResult<String> result = new DeferredResult<>();
+        AtomicReference<ServletRequest> dispatchedRequest = new AtomicReference<>();
+        AtomicReference<ServletResponse> dispatchedResponse = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            handled.incrementAndGet();
+            req.getInputStream().readAllBytes();
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(req);
+            asyncManager.setAsyncWebRequest(
+                    new StandardServletAsyncWebRequest((HttpServletRequest) req, (HttpServletResponse) res));
+            try {
+                asyncManager.startDeferredResultProcessing(result);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            dispatchedRequest.set(req);
+            dispatchedResponse.set(res);
+        });
+
+        // Still in progress: a retry now is refused rather than run twice
+        assertThat(send(BODY, readAll()).getStatus()).isEqualTo(409);
+
+        result.setResult("{\"addressNo\":1}");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.setAsyncStarted(false);
+        filter.doFilter(dispatchedRequest.get(), dispatchedResponse.get(), (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.setContentType("application/json");
+            res.getWriter().write((String) WebAsyncUtils.getAsyncManager(req).getConcurrentResult());
+        });
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"addressNo\":1}");
+
+        MockHttpServletResponse retry = send(BODY, readAll());
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo("{\"addressNo\":1}");
+    }
+
+    private FilterChain readAll() {
+        return (request, response) -> {
+            request.getInputStream().readAllBytes();
+            created(response);
+        };
+    }
+
+    private void created(ServletResponse response) throws IOException {
+        handled.incrementAndGet();
+        ((HttpServletResponse) response).setStatus(201);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"addressNo\":" + handled.get() + "}");
+    }
+
+    private MockHttpServletResponse send(String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/addresses");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package com.auth.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void nullStaysNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void emptyTextRoundTrips() {
+        byte[] stored = converter.convertToDatabaseColumn("");
+
+        assertThat(stored).containsExactly(CompressedTextConverter.PLAIN);
+        assertThat(converter.convertToEntityAttribute(stored)).isEmpty();
+        assertThat(converter.convertToEntityAttribute(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void shortTextIsStoredPlain() {
+        String text = "Mild seasonal allergy, antihistamine as needed.";
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.PLAIN);
+        assertThat(stored).hasSize(text.length() + 1);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void largeRepetitiveTextIsDeflated() {
+        String text = "Blood pressure elevated, medication dose adjusted, follow-up in two weeks. ".repeat(200);
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.DEFLATED);
+        assertThat(stored.length).isLessThan(text.length() / 10);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    // Just over the size threshold, uniformly random 7-bit characters leave deflate nothing to gain over its
+    // own framing and the length header
+    @Test
+    void incompressibleTextIsStoredPlain() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 260) {
+            text.appendCodePoint(random.nextInt(0x80));
+        }
+
+        byte[] stored = converter.convertToDatabaseColumn(text.toString());
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.PLAIN);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text.toString());
+    }
+
+    @Test
+    void multiByteTextRoundTripsBothWays() {
+        String shortText = "Réaction à la pénicilline — 青霉素过敏 🩺";
+        String longText = shortText.repeat(100);
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(shortText))).isEqualTo(shortText);
+        byte[] stored = converter.convertToDatabaseColumn(longText);
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.DEFLATED);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(longText);
+    }
+
+    @Test
+    void rowsWrittenBeforeCompressionReadAsPlainText() {
+        String text = "Written as TEXT before V7";
+
+        assertThat(converter.convertToEntityAttribute(text.getBytes(StandardCharsets.UTF_8))).isEqualTo(text);
+        assertThat(converter.convertToEntityAttribute("Ünïcode".getBytes(StandardCharsets.UTF_8))).isEqualTo("Ünïcode");
+    }
+
+    @Test
+    void truncatedCompressedTextIsRejected() {
+        byte[] stored = converter.convertToDatabaseColumn("Monitor symptoms and advise rest. ".repeat(100));
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(Arrays.copyOf(stored, stored.length / 2)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void corruptCompressedTextIsRejected() {
+        byte[] stored = converter.convertToDatabaseColumn("Monitor symptoms and advise rest. ".repeat(100));
+        byte[] corrupt = stored.clone();
+        Arrays.fill(corrupt, 5, corrupt.length, (byte) 0xff);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(corrupt))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void lengthPrefixLargerThanTheDataIsRejected() {
+        byte[] stored = converter.convertToDatabaseColumn("Monitor symptoms and advise rest. ".repeat(100));
+        ByteBuffer.wrap(stored, 1, Integer.BYTES).putInt(stored.length * 100);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(stored))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
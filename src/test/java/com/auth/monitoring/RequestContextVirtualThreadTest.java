@@ -0,0 +1,127 @@
+package com.auth.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs a request through the real request-scoped filters on a virtual thread, as Tomcat does with
+// spring.threads.virtual.enabled, with part of the handler on a bulkhead-style worker thread
+class RequestContextVirtualThreadTest {
+
+    private static final TestingAuthenticationToken MEMBER = new TestingAuthenticationToken("M0001", null, "ROLE_USER");
+
+    @Test
+    void requestStateIsBoundWhileHandlingAndClearedAfterwards() throws Exception {
+        List<Object> duringRequest = new ArrayList<>();
+        List<Object> onWorker = new ArrayList<>();
+        List<Object> afterWorker = new ArrayList<>();
+        List<Object> afterRequest = new ArrayList<>();
+
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                duringRequest.addAll(snapshot());
+                Runnable work = new RequestContextTaskDecorator().decorate(() -> onWorker.addAll(snapshot()));
+                try {
+                    Thread.ofVirtual().start(() -> {
+                        work.run();
+                        afterWorker.addAll(snapshot());
+                    }).join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                new MockFilterChain(handler, filters()).doFilter(request(), new MockHttpServletResponse());
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+            afterRequest.addAll(snapshot());
+        }).join();
+
+        assertThat(failure.get()).isNull();
+        assertThat(duringRequest).doesNotContainNull();
+        assertThat(duringRequest.get(0)).isSameAs(MEMBER);
+        assertThat(onWorker).isEqualTo(duringRequest);
+        assertThat(afterWorker).containsOnlyNulls();
+        assertThat(afterRequest).containsOnlyNulls();
+    }
+
+    @Test
+    void childThreadsStartedByARequestDoNotInheritItsState() throws Exception {
+        List<Object> inChild = new ArrayList<>();
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    Thread.ofVirtual().start(() -> inChild.addAll(snapshot())).join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Thread.ofVirtual().start(() -> {
+            try {
+                new MockFilterChain(handler, filters()).doFilter(request(), new MockHttpServletResponse());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).join();
+
+        assertThat(inChild).containsOnlyNulls();
+    }
+
+    // Same order as the application: SQL counters outermost, then timings, then Spring Security,
+    // whose authentication step stands in for JwtAuthenticationFilter
+    private static Filter[] filters() {
+        Filter authenticate = (request, response, chain) -> {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(MEMBER);
+            SecurityContextHolder.setContext(context);
+            chain.doFilter(request, response);
+        };
+        return new Filter[] {
+                new SqlStatisticsFilter(new SimpleMeterRegistry()),
+                new ServerTimingFilter(true, List.of(new IpAddressMatcher("127.0.0.1/32"))),
+                new SecurityContextHolderFilter(new RequestAttributeSecurityContextRepository()),
+                authenticate
+        };
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/profile");
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader(ServerTimingFilter.REQUEST_HEADER, "true");
+        return request;
+    }
+
+    // Authentication, SQL counters and timing recorder as seen from the calling thread
+    private static List<Object> snapshot() {
+        List<Object> state = new ArrayList<>();
+        state.add(SecurityContextHolder.getContext().getAuthentication());
+        state.add(SqlStatistics.current());
+        state.add(ServerTiming.current());
+        return state;
+    }
+}
@@ -0,0 +1,82 @@
+package com.auth.monitoring;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingFilterTest {
+
+    private static final String EXTERNAL = "203.0.113.7";
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(true, List.of(new IpAddressMatcher("10.0.0.0/8")));
+
+    @Test
+    void anonymousCallerOutsideTrustedNetworksGetsNoTimings() throws Exception {
+        MockHttpServletResponse response = send(filter, request(EXTERNAL, null), false);
+
+        assertThat(response.getHeader("Server-Timing")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void authenticatedMemberWhoIsNotAnAdminGetsNoTimings() throws Exception {
+        MockHttpServletResponse response = send(filter, request(EXTERNAL, "Bearer token"), false);
+
+        assertThat(response.getHeader("Server-Timing")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void adminGetsTimings() throws Exception {
+        MockHttpServletResponse response = send(filter, request(EXTERNAL, "Bearer token"), true);
+
+        assertThat(response.getHeader("Server-Timing")).contains("total;dur=");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void callerOnATrustedNetworkGetsTimings() throws Exception {
+        MockHttpServletResponse response = send(filter, request("10.1.2.3", null), false);
+
+        assertThat(response.getHeader("Server-Timing")).contains("total;dur=");
+    }
+
+    @Test
+    void disabledFilterNeverAddsTimings() throws Exception {
+        ServerTimingFilter disabled = new ServerTimingFilter(false, List.of(new IpAddressMatcher("10.0.0.0/8")));
+
+        MockHttpServletResponse response = send(disabled, request("10.1.2.3", null), true);
+
+        assertThat(response.getHeader("Server-Timing")).isNull();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login/send-otp");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader(ServerTimingFilter.REQUEST_HEADER, "true");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    // The chain stands in for Spring Security and the handler; admin marks the caller as JwtAuthenticationFilter would
+    private static MockHttpServletResponse send(ServerTimingFilter filter, MockHttpServletRequest request, boolean admin)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            if (admin) {
+                req.setAttribute(ServerTimingFilter.TRUSTED_CALLER_ATTRIBUTE, Boolean.TRUE);
+            }
+            res.getWriter().write("{}");
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
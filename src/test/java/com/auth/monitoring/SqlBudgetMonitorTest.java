@@ -0,0 +1,77 @@
+package com.auth.monitoring;
+
+import com.auth.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlBudgetMonitorTest {
+
+    private static final String ENDPOINT = "POST /api/v1/users/payments";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SqlBudgetMonitor monitor;
+    private SqlStatisticsResponseAdvice advice;
+
+    @BeforeEach
+    void setUp() {
+        SqlBudgetProperties properties = new SqlBudgetProperties();
+        properties.setBudgets(Map.of(ENDPOINT, 2));
+        monitor = new SqlBudgetMonitor(properties, meterRegistry);
+        advice = new SqlStatisticsResponseAdvice(properties, monitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.end();
+    }
+
+    @Test
+    void requestWithinBudgetPassesVerification() {
+        Object body = writeResponse(2);
+
+        assertThat(body).isEqualTo("saved");
+        assertThatCode(monitor::verify).doesNotThrowAnyException();
+    }
+
+    @Test
+    void overrunStillReturnsTheCommittedResponseButFailsVerification() {
+        Object body = writeResponse(3);
+
+        assertThat(body).isEqualTo("saved");
+        assertThat(meterRegistry.get("db.statements.budget.exceeded").tag("endpoint", ENDPOINT).counter().count())
+                .isEqualTo(1);
+        assertThatThrownBy(monitor::verify)
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining(ENDPOINT);
+    }
+
+    // The handler issues `statements` statements, then its response body is written
+    private Object writeResponse(int statements) {
+        SqlStatistics statistics = SqlStatistics.begin();
+        statistics.record(1_000);
+        statistics.markHandlerStart();
+        for (int i = 0; i < statements; i++) {
+            statistics.record(1_000);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/payments");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/users/payments");
+        return advice.beforeBodyWrite("saved", null, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.auth.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberIdSequenceStoreTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    private MemberIdSequenceStore store;
+    // Stands in for the @Transactional proxy: every reservation commits in a transaction of its own
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:sequences-"
+                + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__member_id_sequences.sql"))
+                .execute(dataSource);
+        store = new MemberIdSequenceStore(new JdbcTemplate(dataSource));
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void seedsAPrefixOnceAndThenHandsOutConsecutiveBlocks() {
+        AtomicInteger seeded = new AtomicInteger();
+
+        Integer first = reserve("J90", () -> seeded.incrementAndGet() * 100);
+        Integer second = reserve("J90", () -> seeded.incrementAndGet() * 100);
+        Integer otherPrefix = reserve("K91", () -> 1);
+
+        assertThat(first).isEqualTo(100);
+        assertThat(second).isEqualTo(100 + BLOCK_SIZE);
+        assertThat(otherPrefix).isEqualTo(1);
+        assertThat(seeded).hasValue(1);
+    }
+
+    @Test
+    void concurrentReservationsNeverOverlap() throws Exception {
+        reserve("J90", () -> 1);
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> reservations = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                reservations.add(executor.submit(() -> {
+                    int first = reserve("J90", () -> 1);
+                    for (int number = first; number < first + BLOCK_SIZE; number++) {
+                        assertThat(numbers.add(number)).as("%d handed out twice", number).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> reservation : reservations) {
+                reservation.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(numbers).hasSize(200 * BLOCK_SIZE);
+    }
+
+    private Integer reserve(String prefix, IntSupplier firstUnused) {
+        return transaction.execute(status -> store.reserve(prefix, BLOCK_SIZE, firstUnused));
+    }
+}
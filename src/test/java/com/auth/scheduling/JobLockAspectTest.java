@@ -0,0 +1,93 @@
+package com.auth.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two nodes, each its own application context with the aspect applied by the auto-proxy creator,
+// share one lock table
+class JobLockAspectTest {
+
+    private static DataSource dataSource;
+
+    private AnnotationConfigApplicationContext firstNode;
+    private AnnotationConfigApplicationContext secondNode;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:job-locks-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V3__scheduled_job_locks.sql"))
+                .execute(dataSource);
+        firstNode = new AnnotationConfigApplicationContext(NodeConfig.class);
+        secondNode = new AnnotationConfigApplicationContext(NodeConfig.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstNode.close();
+        secondNode.close();
+    }
+
+    @Test
+    void onlyOneNodeRunsTheJobWhileTheLockIsHeld() {
+        firstNode.getBean(PurgeJob.class).run();
+        secondNode.getBean(PurgeJob.class).run();
+
+        assertThat(firstNode.getBean(PurgeJob.class).runs()).isEqualTo(1);
+        assertThat(secondNode.getBean(PurgeJob.class).runs()).isZero();
+        assertThat(secondNode.getBean(MeterRegistry.class).get("scheduled.job.skipped").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class NodeConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        JobLockAspect jobLockAspect(MeterRegistry meterRegistry) {
+            return new JobLockAspect(new JobLockStore(new JdbcTemplate(dataSource)), meterRegistry);
+        }
+
+        @Bean
+        PurgeJob purgeJob() {
+            return new PurgeJob();
+        }
+    }
+
+    // Runs are read through a method: the context hands out the class-based proxy, not the target
+    static class PurgeJob {
+
+        private final AtomicInteger runs = new AtomicInteger();
+
+        @JobLock(name = "purge")
+        public void run() {
+            runs.incrementAndGet();
+        }
+
+        public int runs() {
+            return runs.get();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService();
+    private final UserDetails member = User.withUsername("J9000042").password("").roles("USER").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+    }
+
+    @Test
+    void claimsAlreadyParsedByTheFilterValidateLikeTheToken() {
+        String token = jwtService.generateToken("J9000042", "session-1");
+        Claims claims = jwtService.extractClaims(token);
+
+        assertThat(jwtService.isTokenValid(claims, member)).isTrue();
+        assertThat(jwtService.isTokenValid(token, member)).isTrue();
+    }
+
+    @Test
+    void claimsForAnotherMemberAreInvalid() {
+        Claims claims = jwtService.extractClaims(jwtService.generateToken("K8500007", "session-2"));
+
+        assertThat(jwtService.isTokenValid(claims, member)).isFalse();
+    }
+
+    @Test
+    void claimsPastTheirExpirationAreInvalid() {
+        Claims claims = Jwts.claims().setSubject("J9000042");
+        claims.setExpiration(new Date(System.currentTimeMillis() - 1_000));
+
+        assertThat(jwtService.isTokenValid(claims, member)).isFalse();
+    }
+}
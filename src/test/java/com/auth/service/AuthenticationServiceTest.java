@@ -0,0 +1,99 @@
+package com.auth.service;
+
+import com.auth.audit.AuditEventType;
+import com.auth.audit.AuditLog;
+import com.auth.dto.LoginRequest;
+import com.auth.dto.RegisterRequest;
+import com.auth.model.EmailVerification;
+import com.auth.repository.EmailVerificationRepository;
+import com.auth.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    private static final String EMAIL = "member@example.com";
+
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private EmailVerificationRepository emailVerificationRepository;
+    @Mock
+    private PendingRegistrationCache pendingRegistrationCache;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private MemberLookupCache memberLookupCache;
+    @Mock
+    private AuditLog auditLog;
+    @InjectMocks
+    private AuthenticationService authenticationService;
+
+    private final CompletableFuture<Void> smtp = new CompletableFuture<>();
+
+    private void stubLoginOtp() {
+        when(memberLookupCache.findMemberId(EMAIL)).thenReturn(Optional.of("J9000042"));
+        when(memberRepository.updateLoginOtp(eq("J9000042"), anyString(), any())).thenReturn(1);
+        when(emailService.sendOtpEmail(eq(EMAIL), anyString())).thenReturn(smtp);
+    }
+
+    @Test
+    void otpIsAuditedAsSentOnlyOnceSmtpAcceptsIt() {
+        stubLoginOtp();
+        authenticationService.sendOtp(new LoginRequest(EMAIL));
+        verify(auditLog, never()).record(any(), any(), any());
+
+        smtp.complete(null);
+
+        verify(auditLog).record(AuditEventType.OTP_SENT, EMAIL, null);
+    }
+
+    @Test
+    void smtpFailureIsAuditedAsSendFailed() {
+        stubLoginOtp();
+        authenticationService.sendOtp(new LoginRequest(EMAIL));
+
+        smtp.completeExceptionally(new MailSendException("connection refused"));
+
+        verify(auditLog).record(AuditEventType.OTP_SEND_FAILED, EMAIL, "connection refused");
+        verify(auditLog, never()).record(eq(AuditEventType.OTP_SENT), any(), any());
+    }
+
+    // Bulk import stores emails lowercased, so registration has to as well or the two could not be matched up
+    @Test
+    void registrationStoresTheEmailTheWayBulkImportDoes() {
+        when(memberLookupCache.findMemberId(EMAIL)).thenReturn(Optional.empty());
+
+        authenticationService.register(RegisterRequest.builder()
+                .fullName("Jane Doe")
+                .email("Member@Example.COM")
+                .dob(LocalDate.of(1990, 5, 17))
+                .build());
+
+        ArgumentCaptor<EmailVerification> saved = ArgumentCaptor.forClass(EmailVerification.class);
+        verify(emailVerificationRepository).save(saved.capture());
+        assertThat(saved.getValue().getEmail()).isEqualTo(EMAIL);
+        verify(emailService).sendVerificationEmail(eq(EMAIL), anyString());
+    }
+}
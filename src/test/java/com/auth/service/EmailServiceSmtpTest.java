@@ -0,0 +1,149 @@
+package com.auth.service;
+
+import com.auth.concurrency.CircuitBreaker;
+import com.auth.exception.MailUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// EmailService against a real SMTP conversation over a socket, with the server stalling or dropping connections
+// or refusing a recipient
+class EmailServiceSmtpTest {
+
+    private static final long OPEN_MILLIS = 1000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeSmtpServer smtp;
+    private ThreadPoolTaskExecutor emailBulkhead;
+    private CircuitBreaker breaker;
+    private MailOutbox outbox;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.port());
+        Properties properties = new Properties();
+        properties.put("mail.smtp.connectiontimeout", "500");
+        properties.put("mail.smtp.timeout", "500");
+        properties.put("mail.smtp.writetimeout", "500");
+        mailSender.setJavaMailProperties(properties);
+
+        emailBulkhead = new ThreadPoolTaskExecutor();
+        emailBulkhead.setCorePoolSize(2);
+        emailBulkhead.setQueueCapacity(10);
+        emailBulkhead.initialize();
+
+        breaker = new CircuitBreaker("smtp", meterRegistry, 4, 2, 0.5, 3000, OPEN_MILLIS, 1);
+        outbox = new MailOutbox(10, meterRegistry);
+        emailService = new EmailService(mailSender, breaker, outbox, emailBulkhead);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        emailBulkhead.shutdown();
+        smtp.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = FakeSmtpServer.Mode.class, names = {"STALL", "DROP"})
+    void unreachableSmtpOpensTheBreakerAndParksMailUntilItRecovers(FakeSmtpServer.Mode failure) throws Exception {
+        smtp.setMode(failure);
+
+        // Both sends fail against SMTP, open the breaker and end up in the outbox instead
+        CompletableFuture.allOf(
+                emailService.sendVerificationEmail("a@example.com", "111111"),
+                emailService.sendVerificationEmail("b@example.com", "222222")).get(5, TimeUnit.SECONDS);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // While open nothing reaches SMTP: verification mail is parked, a login OTP fails fast
+        emailService.sendVerificationEmail("c@example.com", "333333").get(1, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> emailService.sendOtpEmail("d@example.com", "444444").get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(MailUnavailableException.class);
+        assertThat(meterRegistry.get("mail.outbox").tag("outcome", "queued").counter().count()).isEqualTo(3);
+        assertThat(smtp.received()).isEmpty();
+
+        smtp.setMode(FakeSmtpServer.Mode.ACCEPT);
+        Thread.sleep(OPEN_MILLIS);
+        emailService.drainOutbox();
+
+        await(() -> smtp.received().size() == 3);
+        assertThat(outbox.isEmpty()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(String.join("", smtp.received())).contains("111111", "222222", "333333");
+    }
+
+    @Test
+    void permanentlyRejectedRecipientFailsItsMailWithoutTrippingTheBreaker() throws Exception {
+        smtp.rejectRecipient("nobody@example.com");
+
+        // More refusals than the breaker needs to open, none of them parked for a retry
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> emailService.sendVerificationEmail("nobody@example.com", "111111")
+                    .get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(MailSendException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(outbox.isEmpty()).isTrue();
+
+        // Login OTPs for everyone else still go out
+        emailService.sendOtpEmail("member@example.com", "222222").get(5, TimeUnit.SECONDS);
+        assertThat(smtp.received()).hasSize(1);
+    }
+
+    @Test
+    void permanentlyRejectedMailInTheOutboxIsDroppedNotRequeued() throws Exception {
+        smtp.rejectRecipient("nobody@example.com");
+        smtp.setMode(FakeSmtpServer.Mode.DROP);
+        CompletableFuture.allOf(
+                emailService.sendVerificationEmail("nobody@example.com", "111111"),
+                emailService.sendVerificationEmail("member@example.com", "222222")).get(5, TimeUnit.SECONDS);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        smtp.setMode(FakeSmtpServer.Mode.ACCEPT);
+        Thread.sleep(OPEN_MILLIS);
+        emailService.drainOutbox();
+
+        // An entry leaves the queue before its send finishes, so wait for both outcomes to be counted
+        await(() -> outboxCount("delivered") == 1 && outboxCount("rejected") == 1);
+        assertThat(outbox.isEmpty()).isTrue();
+        assertThat(smtp.received()).hasSize(1);
+        assertThat(smtp.received().get(0)).contains("222222");
+        assertThat(breaker.getState()).isNotEqualTo(CircuitBreaker.State.OPEN);
+
+        // Later drains have nothing left to retry
+        emailService.drainOutbox();
+        Thread.sleep(200);
+        assertThat(outboxCount("rejected")).isEqualTo(1);
+    }
+
+    private double outboxCount(String outcome) {
+        Counter counter = meterRegistry.find("mail.outbox").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.auth.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Minimal SMTP server on a loopback port. ACCEPT speaks just enough of the protocol for JavaMail to deliver;
+// STALL accepts connections and never answers, so the client runs into its read timeout; DROP closes every
+// connection as soon as it is accepted. In every mode, recipients passed to rejectRecipient get a permanent
+// 550 to RCPT, as for an unknown mailbox.
+final class FakeSmtpServer implements Closeable {
+
+    enum Mode { ACCEPT, STALL, DROP }
+
+    private final ServerSocket serverSocket;
+    private final List<Socket> connections = new CopyOnWriteArrayList<>();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private volatile Mode mode = Mode.ACCEPT;
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().name("fake-smtp").daemon().start(this::acceptLoop);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    void rejectRecipient(String address) {
+        rejectedRecipients.add(address);
+    }
+
+    // Message bodies in arrival order
+    List<String> received() {
+        return received;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                switch (mode) {
+                    case DROP -> socket.close();
+                    case STALL -> connections.add(socket);
+                    case ACCEPT -> {
+                        connections.add(socket);
+                        Thread.ofPlatform().daemon().start(() -> converse(socket));
+                    }
+                }
+            } catch (IOException e) {
+                // Closed
+            }
+        }
+    }
+
+    private void converse(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "RCPT" -> reply(out, rejectedRecipients.stream().anyMatch(line::contains)
+                            ? "550 5.1.1 No such user" : "250 OK");
+                    case "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder message = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            message.append(line).append('\n');
+                        }
+                        received.add(message.toString());
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
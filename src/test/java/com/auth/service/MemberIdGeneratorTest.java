@@ -0,0 +1,29 @@
+package com.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberIdGeneratorTest {
+
+    private final MemberIdGenerator generator = new MemberIdGenerator(null, null);
+
+    @Test
+    void prefixIsTheInitialAndTheLastTwoDigitsOfTheBirthYear() {
+        assertThat(generator.prefixFor("jane Doe", LocalDate.of(1990, 5, 17))).isEqualTo("J90");
+    }
+
+    @Test
+    void yearDigitsAreZeroPadded() {
+        assertThat(generator.prefixFor("Jane Doe", LocalDate.of(2005, 1, 1))).isEqualTo("J05");
+        assertThat(generator.prefixFor("Jane Doe", LocalDate.of(2000, 1, 1))).isEqualTo("J00");
+    }
+
+    @Test
+    void yearsWithFewerThanFourDigitsStillGiveTwoDigits() {
+        assertThat(generator.prefixFor("Jane Doe", LocalDate.of(905, 1, 1))).isEqualTo("J05");
+        assertThat(generator.prefixFor("Jane Doe", LocalDate.of(7, 1, 1))).isEqualTo("J07");
+    }
+}
@@ -0,0 +1,57 @@
+package com.auth.service;
+
+import com.auth.dto.BulkImportRowError;
+import com.auth.dto.MemberImportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberImportParserTest {
+
+    private final MemberImportParser parser = new MemberImportParser(new ObjectMapper().findAndRegisterModules());
+
+    private final List<MemberImportRow> rows = new ArrayList<>();
+    private final List<BulkImportRowError> errors = new ArrayList<>();
+
+    @Test
+    void csvRowBornBeforeTheEarliestDateIsReportedAndTheRestAreKept() throws IOException {
+        read(MemberImportParser.Format.CSV, """
+                full_name,email,dob
+                Jane Doe,jane@example.com,1990-05-17
+                Old Timer,old@example.com,0905-01-01
+                Edge Case,edge@example.com,1900-01-01
+                """);
+
+        assertThat(rows).extracting(MemberImportRow::getEmail).containsExactly("jane@example.com", "edge@example.com");
+        assertThat(errors).containsExactly(new BulkImportRowError(3, "old@example.com",
+                "Date of birth must be on or after 1900-01-01"));
+    }
+
+    @Test
+    void ndjsonRowBornBeforeTheEarliestDateIsReported() throws IOException {
+        read(MemberImportParser.Format.NDJSON, """
+                {"fullName":"Jane Doe","email":"jane@example.com","dob":"1990-05-17"}
+                {"fullName":"Old Timer","email":"old@example.com","dob":"1899-12-31"}
+                """);
+
+        assertThat(rows).extracting(MemberImportRow::getDob).containsExactly(LocalDate.of(1990, 5, 17));
+        assertThat(errors).extracting(BulkImportRowError::getRowNumber).containsExactly(2);
+    }
+
+    private void read(MemberImportParser.Format format, String content) throws IOException {
+        try (MemberImportParser.RowReader reader = parser.open(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format)) {
+            while (reader.read(100, rows, errors)) {
+                // keeps reading until the input is exhausted
+            }
+        }
+    }
+}
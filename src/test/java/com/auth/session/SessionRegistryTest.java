@@ -0,0 +1,134 @@
+package com.auth.session;
+
+import com.auth.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Two nodes, each with its own registry, share one member_sessions table
+class SessionRegistryTest {
+
+    private static final long DAY_MILLIS = 86_400_000;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:sessions-"
+                + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V6__member_sessions.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void revokedSessionIsRejectedAndNoLongerListed() {
+        SessionRegistry node = node(DAY_MILLIS, new SimpleMeterRegistry());
+        MemberSession kept = node.open("M0001", "phone");
+        MemberSession revoked = node.open("M0001", "laptop");
+
+        assertThat(node.revoke("M0001", revoked.sessionId())).isTrue();
+
+        assertThat(node.isRevoked(revoked.sessionId())).isTrue();
+        assertThat(node.isRevoked(kept.sessionId())).isFalse();
+        assertThat(node.list("M0001")).containsExactly(kept);
+    }
+
+    @Test
+    void onlyTheOwningMemberCanRevokeASession() {
+        SessionRegistry node = node(DAY_MILLIS, new SimpleMeterRegistry());
+        MemberSession session = node.open("M0001", "phone");
+
+        assertThat(node.revoke("M0002", session.sessionId())).isFalse();
+        assertThat(node.revoke("M0001", UUID.randomUUID().toString())).isFalse();
+        assertThat(node.isRevoked(session.sessionId())).isFalse();
+    }
+
+    @Test
+    void sessionOpenedAndRevokedWithinOneSnapshotIsWrittenRevoked() {
+        SessionRegistry node = node(DAY_MILLIS, new SimpleMeterRegistry());
+        MemberSession session = node.open("M0001", "phone");
+        node.revoke("M0001", session.sessionId());
+
+        node.snapshot();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM member_sessions WHERE session_id = ? AND revoked_at IS NOT NULL",
+                Integer.class, session.sessionId())).isEqualTo(1);
+    }
+
+    @Test
+    void sessionsAndRevocationsReachTheOtherNodeWithTheNextSnapshot() {
+        SessionRegistry first = node(DAY_MILLIS, new SimpleMeterRegistry());
+        SessionRegistry second = node(DAY_MILLIS, new SimpleMeterRegistry());
+        MemberSession session = first.open("M0001", "phone");
+
+        first.snapshot();
+        second.snapshot();
+        assertThat(second.list("M0001")).extracting(MemberSession::sessionId).containsExactly(session.sessionId());
+
+        first.revoke("M0001", session.sessionId());
+        assertThat(second.isRevoked(session.sessionId())).isFalse();
+        first.snapshot();
+        second.snapshot();
+
+        assertThat(second.isRevoked(session.sessionId())).isTrue();
+        assertThat(second.list("M0001")).isEmpty();
+    }
+
+    @Test
+    void sessionOpenedOnAnotherNodeCanBeRevokedBeforeItIsSynced() {
+        SessionRegistry first = node(DAY_MILLIS, new SimpleMeterRegistry());
+        SessionRegistry second = node(DAY_MILLIS, new SimpleMeterRegistry());
+        MemberSession session = first.open("M0001", "phone");
+        first.snapshot();
+
+        assertThat(second.revoke("M0002", session.sessionId())).isFalse();
+        assertThat(second.revoke("M0001", session.sessionId())).isTrue();
+        assertThat(second.isRevoked(session.sessionId())).isTrue();
+        assertThat(second.revoke("M0001", session.sessionId())).isFalse();
+
+        // The revocation was written straight away, so the opening node picks it up on its next sync
+        first.snapshot();
+        assertThat(first.isRevoked(session.sessionId())).isTrue();
+        assertThat(first.list("M0001")).isEmpty();
+    }
+
+    @Test
+    void expiredSessionsAndRevocationsArePruned() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SessionRegistry node = node(200, meterRegistry);
+        MemberSession active = node.open("M0001", "phone");
+        MemberSession revoked = node.open("M0001", "laptop");
+        node.revoke("M0001", revoked.sessionId());
+        node.snapshot();
+        assertThat(meterRegistry.get("sessions.active").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("sessions.revoked").gauge().value()).isEqualTo(1);
+
+        Thread.sleep(300);
+        node.snapshot();
+
+        assertThat(node.list("M0001")).doesNotContain(active).isEmpty();
+        assertThat(node.isRevoked(revoked.sessionId())).isFalse();
+        assertThat(meterRegistry.get("sessions.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("sessions.revoked").gauge().value()).isZero();
+    }
+
+    private SessionRegistry node(long tokenLifetimeMillis, MeterRegistry meterRegistry) {
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.getExpirationMillis()).thenReturn(tokenLifetimeMillis);
+        return new SessionRegistry(new SessionStore(jdbcTemplate), jwtService, meterRegistry);
+    }
+}